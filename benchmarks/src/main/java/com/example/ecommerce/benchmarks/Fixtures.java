@@ -0,0 +1,66 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.dto.ProductSnapshot;
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.model.ProductReview;
+import com.example.ecommerce.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Product product(long id, int stockQuantity) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Benchmark Product " + id);
+        product.setDescription("Benchmark product description " + id);
+        product.setPrice(BigDecimal.valueOf(1999 + id, 2));
+        product.setStockQuantity(stockQuantity);
+        return product;
+    }
+
+    static ProductSnapshot productSnapshot(long id) {
+        Product product = product(id, 100);
+        product.setAverageRating(4.25);
+        product.setTotalReviews(12);
+        product.setActive(true);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        product.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 8, 0));
+        return ProductSnapshot.fromProduct(product);
+    }
+
+    static OrderItem orderItem(Product product, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+        return item;
+    }
+
+    static Order order(int itemCount) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(orderItem(product(i + 1, 100), 1 + i % 3));
+        }
+        return order;
+    }
+
+    static ProductReview review(long id, int rating) {
+        ProductReview review = new ProductReview();
+        review.setId(id);
+        review.setRating(rating);
+        return review;
+    }
+}
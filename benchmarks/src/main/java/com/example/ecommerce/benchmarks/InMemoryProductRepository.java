@@ -0,0 +1,60 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ProductRepository} stub over a map, so service benchmarks measure service
+ * code rather than JDBC. Only the methods the stock paths use are implemented.
+ */
+final class InMemoryProductRepository {
+
+    private InMemoryProductRepository() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static ProductRepository create(Map<Long, Product> products) {
+        Map<Long, Product> store = new ConcurrentHashMap<>(products);
+        return (ProductRepository) Proxy.newProxyInstance(
+            ProductRepository.class.getClassLoader(),
+            new Class<?>[]{ProductRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findById" -> Optional.ofNullable(store.get((Long) args[0]));
+                case "existsById" -> store.containsKey((Long) args[0]);
+                case "save" -> {
+                    Product product = (Product) args[0];
+                    store.put(product.getId(), product);
+                    yield product;
+                }
+                case "saveAll" -> {
+                    List<Product> saved = new ArrayList<>();
+                    for (Product product : (Iterable<Product>) args[0]) {
+                        store.put(product.getId(), product);
+                        saved.add(product);
+                    }
+                    yield saved;
+                }
+                case "findAllById" -> {
+                    List<Product> found = new ArrayList<>();
+                    for (Long id : (Iterable<Long>) args[0]) {
+                        Product product = store.get(id);
+                        if (product != null) {
+                            found.add(product);
+                        }
+                    }
+                    yield found;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "InMemoryProductRepository" + store.keySet();
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
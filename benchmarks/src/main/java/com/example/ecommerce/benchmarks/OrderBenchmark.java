@@ -0,0 +1,63 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    private static final OrderStatus[] HAPPY_PATH = {
+        OrderStatus.CONFIRMED,
+        OrderStatus.PAYMENT_PENDING,
+        OrderStatus.PAID,
+        OrderStatus.PROCESSING,
+        OrderStatus.SHIPPED,
+        OrderStatus.DELIVERED,
+        OrderStatus.COMPLETED
+    };
+
+    @Param({"10", "100"})
+    private int itemCount;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = Fixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTotal() {
+        order.recalculateTotal();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public OrderStatus updateStatus_FullLifecycle() {
+        Order lifecycleOrder = new Order();
+        for (OrderStatus status : HAPPY_PATH) {
+            lifecycleOrder.updateStatus(status);
+        }
+        return lifecycleOrder.getStatus();
+    }
+
+    @Benchmark
+    public void updateStatus_RejectedTransition(Blackhole blackhole) {
+        Order rejectedOrder = new Order();
+        try {
+            rejectedOrder.updateStatus(OrderStatus.DELIVERED);
+        } catch (IllegalStateException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.dto.OrderResponse;
+import com.example.ecommerce.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int itemCount;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = Fixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public OrderResponse fromOrder() {
+        return OrderResponse.fromOrder(order);
+    }
+}
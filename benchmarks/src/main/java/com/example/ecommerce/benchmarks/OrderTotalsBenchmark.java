@@ -0,0 +1,64 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an order item by item. {@code addItems} is {@link Order#addItem}, which keeps
+ * the total in long minor units. {@code addItems_BigDecimalRecompute} replays the
+ * previous implementation, which re-summed every subtotal as {@code BigDecimal} on each
+ * add, as the baseline. Run with {@code -prof gc} to compare allocation per order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderTotalsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    private OrderItem[] items;
+
+    @Setup
+    public void setUp() {
+        items = new OrderItem[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = Fixtures.orderItem(Fixtures.product(i + 1, 100), 1 + i % 3);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal addItems() {
+        Order order = new Order();
+        for (OrderItem item : items) {
+            order.addItem(item);
+        }
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal addItems_BigDecimalRecompute() {
+        List<OrderItem> orderItems = new ArrayList<>();
+        BigDecimal shippingCost = BigDecimal.ZERO;
+        BigDecimal taxAmount = BigDecimal.ZERO;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            orderItems.add(item);
+            totalAmount = orderItems.stream()
+                    .map(OrderItem::getSubtotal)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .add(shippingCost)
+                    .add(taxAmount);
+        }
+        return totalAmount;
+    }
+}
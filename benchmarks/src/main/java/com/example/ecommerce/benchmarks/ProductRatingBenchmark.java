@@ -0,0 +1,35 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of adding one review, including the rating aggregate update. The average comes
+ * from a running sum, so the product's existing review count does not enter into it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductRatingBenchmark {
+
+    private Product product;
+    private long nextReviewId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        product = Fixtures.product(1L, 100);
+        nextReviewId = 1;
+    }
+
+    @Benchmark
+    public Double addReview() {
+        long id = nextReviewId++;
+        product.addReview(Fixtures.review(id, 1 + (int) (id % 5)));
+        return product.getAverageRating();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.ecommerce.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page plus total count of a product search, run as the SQL behind each
+ * {@code ecommerce.search.database-mode}: the substring match Hibernate generates
+ * for {@code findByNameContainingOrDescriptionContainingAllIgnoreCase} against the
+ * ranked full-text query over the V6 {@code search_vector} column.
+ *
+ * <p>Needs Docker: the catalog is generated in a throwaway Postgres container. Every
+ * 10,000th product mentions {@code espresso}; {@code steel} is in roughly a third of
+ * all descriptions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductSearchBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final String SEARCH_VECTOR_MIGRATION = "/db/migration/V6__add_product_search_vector.sql";
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE products (" +
+            "id BIGSERIAL PRIMARY KEY, " +
+            "name VARCHAR(255) NOT NULL, " +
+            "description VARCHAR(2000), " +
+            "price NUMERIC(19, 2) NOT NULL, " +
+            "stock_quantity INTEGER NOT NULL, " +
+            "created_at TIMESTAMP NOT NULL)";
+
+    private static final String GENERATE_PRODUCTS_SQL =
+            "INSERT INTO products (name, description, price, stock_quantity, created_at) " +
+            "SELECT 'Product ' || g || ' ' || w[1 + g % 48] || ' ' || w[1 + (g / 48) % 48], " +
+            "       (SELECT string_agg(w[1 + (g * 31 + i * 17 + (g / 7) * i) % 48], ' ') FROM generate_series(1, 30) i)" +
+            "       || CASE WHEN g % 10000 = 0 THEN ' espresso' ELSE '' END, " +
+            "       1 + (g % 10000) / 100.0, g % 100, now() - g * interval '1 second' " +
+            "FROM generate_series(1, ?) g, " +
+            "     (SELECT ARRAY['aluminium', 'bamboo', 'blue', 'bottle', 'brass', 'cable', 'ceramic', 'charger', " +
+            "                   'classic', 'compact', 'cordless', 'cotton', 'desk', 'digital', 'durable', 'ergonomic', " +
+            "                   'fabric', 'foldable', 'glass', 'green', 'handmade', 'heavy', 'kitchen', 'lamp', " +
+            "                   'leather', 'light', 'linen', 'magnetic', 'matte', 'modern', 'oak', 'organic', " +
+            "                   'outdoor', 'portable', 'premium', 'recycled', 'red', 'rubber', 'silicone', 'slim', " +
+            "                   'smart', 'steel', 'travel', 'vintage', 'waterproof', 'white', 'wireless', 'wooden'] AS w) words";
+
+    // What Hibernate issues for the derived ContainingAllIgnoreCase page and its count query
+    private static final String CONTAINING_PAGE_SQL =
+            "SELECT p.* FROM products p WHERE upper(p.name) LIKE upper(?) ESCAPE '\\' " +
+            "OR upper(p.description) LIKE upper(?) ESCAPE '\\' OFFSET 0 ROWS FETCH FIRST ? ROWS ONLY";
+    private static final String CONTAINING_COUNT_SQL =
+            "SELECT count(p.id) FROM products p WHERE upper(p.name) LIKE upper(?) ESCAPE '\\' " +
+            "OR upper(p.description) LIKE upper(?) ESCAPE '\\'";
+
+    // Same statements as ProductRepository.searchFullText
+    private static final String FULL_TEXT_PAGE_SQL =
+            "SELECT p.* FROM products p, websearch_to_tsquery('english', ?) q " +
+            "WHERE p.search_vector @@ q ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC LIMIT ?";
+    private static final String FULL_TEXT_COUNT_SQL =
+            "SELECT count(*) FROM products p WHERE p.search_vector @@ websearch_to_tsquery('english', ?)";
+
+    @Param({"1000000"})
+    private int productCount;
+
+    @Param({"espresso", "steel"})
+    private String query;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:14-alpine"));
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE_SQL);
+        }
+        try (PreparedStatement insert = connection.prepareStatement(GENERATE_PRODUCTS_SQL)) {
+            insert.setInt(1, productCount);
+            insert.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(readMigration());
+            statement.execute("VACUUM ANALYZE products");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public long containingIgnoreCase() throws SQLException {
+        String pattern = "%" + query + "%";
+        long rows;
+        try (PreparedStatement page = connection.prepareStatement(CONTAINING_PAGE_SQL)) {
+            page.setString(1, pattern);
+            page.setString(2, pattern);
+            page.setInt(3, PAGE_SIZE);
+            rows = countRows(page);
+        }
+        try (PreparedStatement count = connection.prepareStatement(CONTAINING_COUNT_SQL)) {
+            count.setString(1, pattern);
+            count.setString(2, pattern);
+            return rows + singleLong(count);
+        }
+    }
+
+    @Benchmark
+    public long fullText() throws SQLException {
+        long rows;
+        try (PreparedStatement page = connection.prepareStatement(FULL_TEXT_PAGE_SQL)) {
+            page.setString(1, query);
+            page.setInt(2, PAGE_SIZE);
+            rows = countRows(page);
+        }
+        try (PreparedStatement count = connection.prepareStatement(FULL_TEXT_COUNT_SQL)) {
+            count.setString(1, query);
+            return rows + singleLong(count);
+        }
+    }
+
+    private static long countRows(PreparedStatement statement) throws SQLException {
+        long rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long singleLong(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String readMigration() throws IOException {
+        try (InputStream migration = ProductSearchBenchmark.class.getResourceAsStream(SEARCH_VECTOR_MIGRATION)) {
+            if (migration == null) {
+                throw new IllegalStateException(SEARCH_VECTOR_MIGRATION + " not found on the classpath");
+            }
+            return new String(migration.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.cache.ProductSnapshotSerializer;
+import com.example.ecommerce.dto.ProductSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a {@code products} cache entry per codec. The payload
+ * size of each codec is printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSnapshotCodecBenchmark {
+
+    @Param({"BINARY", "JDK", "JSON"})
+    private String codec;
+
+    private RedisSerializer<ProductSnapshot> serializer;
+    private ProductSnapshot snapshot;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        serializer = switch (codec) {
+            case "BINARY" -> new ProductSnapshotSerializer();
+            case "JDK" -> (RedisSerializer<ProductSnapshot>) (RedisSerializer<?>) new JdkSerializationRedisSerializer();
+            case "JSON" -> new Jackson2JsonRedisSerializer<>(new ObjectMapper().findAndRegisterModules(), ProductSnapshot.class);
+            default -> throw new IllegalArgumentException("Unknown codec " + codec);
+        };
+        snapshot = Fixtures.productSnapshot(1L);
+        payload = serializer.serialize(snapshot);
+        System.out.printf("%n%s payload: %d bytes%n", codec, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(snapshot);
+    }
+
+    @Benchmark
+    public ProductSnapshot decode() {
+        return serializer.deserialize(payload);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ecommerce.benchmarks;
+
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ProductServiceImpl#reserveStock} from several threads. With the
+ * striped stock locks, throughput should rise with {@code distinctProducts} until it
+ * matches the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class StockReservationBenchmark {
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE / 2;
+
+    @Param({"1", "4", "64"})
+    private int distinctProducts;
+
+    private ProductServiceImpl productService;
+
+    @Setup
+    public void setUp() {
+        Map<Long, Product> products = new HashMap<>();
+        for (long id = 1; id <= distinctProducts; id++) {
+            products.put(id, Fixtures.product(id, INITIAL_STOCK));
+        }
+        // Reservations only use the repository and the event publisher
+        productService = new ProductServiceImpl(InMemoryProductRepository.create(products), event -> { },
+            null,  // inventoryLedger: only consulted in LEDGER reservation mode
+            null,  // productTagIndex: only used by tag filters
+            null); // priceIndex: only used by price filters and histograms
+    }
+
+    @Benchmark
+    public boolean reserveStock() {
+        long productId = 1 + ThreadLocalRandom.current().nextInt(distinctProducts);
+        if (!productService.reserveStock(productId, 1)) {
+            productService.updateStock(productId, INITIAL_STOCK);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ecommerce.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the two-level cache, bound from {@code ecommerce.cache.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "ecommerce.cache")
+public class NearCacheProperties {
+
+    /**
+     * Maximum entries held in process per cache.
+     */
+    private long localMaximumSize = 10_000;
+
+    /**
+     * Upper bound on how long a node can serve an entry whose invalidation message it missed.
+     */
+    private Duration localExpireAfterWrite = Duration.ofSeconds(60);
+
+    /**
+     * Time to live of entries in Redis.
+     */
+    private Duration redisTimeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Time to live of cached facet counts, in Redis and in process when shorter than
+     * {@code localExpireAfterWrite}. Facets are not evicted on product changes, so this
+     * bounds how stale they can get.
+     */
+    private Duration facetsTimeToLive = Duration.ofSeconds(30);
+
+    /**
+     * Redis pub/sub channel carrying invalidations between nodes.
+     */
+    private String invalidationChannel = "ecommerce:cache-invalidation";
+}
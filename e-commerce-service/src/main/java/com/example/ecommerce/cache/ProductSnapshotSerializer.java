@@ -0,0 +1,153 @@
+package com.example.ecommerce.cache;
+
+import com.example.ecommerce.dto.ProductSnapshot;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of {@link ProductSnapshot} for Redis.
+ *
+ * <p>Layout: format version, id, name, price as scale plus unscaled bytes, total
+ * reviews, a flag byte for the booleans and which optional fields follow, then
+ * the optional fields. Payloads written with another format version decode to
+ * {@code null}, which the cache treats as a miss, so a rolling deploy that changes
+ * the layout only costs a reload.
+ */
+public class ProductSnapshotSerializer implements RedisSerializer<ProductSnapshot> {
+    static final byte FORMAT_VERSION = 2;
+
+    private static final int FEATURED = 1;
+    private static final int ACTIVE = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_AVERAGE_RATING = 1 << 3;
+    private static final int HAS_CATEGORY = 1 << 4;
+    private static final int HAS_CREATED_AT = 1 << 5;
+    private static final int HAS_UPDATED_AT = 1 << 6;
+
+    @Override
+    public byte[] serialize(ProductSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(snapshot.id());
+            out.writeUTF(snapshot.name());
+            writeDecimal(out, snapshot.price());
+            out.writeInt(snapshot.totalReviews());
+            out.writeByte(flags(snapshot));
+            if (snapshot.description() != null) {
+                out.writeUTF(snapshot.description());
+            }
+            if (snapshot.averageRating() != null) {
+                out.writeDouble(snapshot.averageRating());
+            }
+            if (snapshot.categoryId() != null) {
+                out.writeLong(snapshot.categoryId());
+            }
+            if (snapshot.createdAt() != null) {
+                writeTimestamp(out, snapshot.createdAt());
+            }
+            if (snapshot.updatedAt() != null) {
+                writeTimestamp(out, snapshot.updatedAt());
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize product snapshot " + snapshot.id(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public ProductSnapshot deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            long id = in.readLong();
+            String name = in.readUTF();
+            BigDecimal price = readDecimal(in);
+            int totalReviews = in.readInt();
+            int flags = in.readByte();
+            return new ProductSnapshot(
+                    id,
+                    name,
+                    (flags & HAS_DESCRIPTION) != 0 ? in.readUTF() : null,
+                    price,
+                    (flags & HAS_AVERAGE_RATING) != 0 ? in.readDouble() : null,
+                    totalReviews,
+                    (flags & FEATURED) != 0,
+                    (flags & ACTIVE) != 0,
+                    (flags & HAS_CATEGORY) != 0 ? in.readLong() : null,
+                    (flags & HAS_CREATED_AT) != 0 ? readTimestamp(in) : null,
+                    (flags & HAS_UPDATED_AT) != 0 ? readTimestamp(in) : null);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize product snapshot", e);
+        }
+    }
+
+    private static int flags(ProductSnapshot snapshot) {
+        int flags = 0;
+        if (snapshot.featured()) {
+            flags |= FEATURED;
+        }
+        if (snapshot.active()) {
+            flags |= ACTIVE;
+        }
+        if (snapshot.description() != null) {
+            flags |= HAS_DESCRIPTION;
+        }
+        if (snapshot.averageRating() != null) {
+            flags |= HAS_AVERAGE_RATING;
+        }
+        if (snapshot.categoryId() != null) {
+            flags |= HAS_CATEGORY;
+        }
+        if (snapshot.createdAt() != null) {
+            flags |= HAS_CREATED_AT;
+        }
+        if (snapshot.updatedAt() != null) {
+            flags |= HAS_UPDATED_AT;
+        }
+        return flags;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeByte(value.scale());
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readByte();
+        byte[] unscaled = new byte[in.readUnsignedByte()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        long epochSecond = in.readLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, in.readInt(), ZoneOffset.UTC);
+    }
+}
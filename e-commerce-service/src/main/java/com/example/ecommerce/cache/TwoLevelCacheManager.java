@@ -0,0 +1,76 @@
+package com.example.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates a {@link TwoLevelCache} per cache name, backed by a Caffeine cache and the
+ * Redis cache of the same name. Both tiers report the standard {@code cache.*}
+ * metrics, told apart by a {@code tier} tag of {@code local} or {@code redis}.
+ *
+ * <p>Local entries expire after {@code localExpireAfterWrite} unless the cache has its
+ * own local expiry, which caches with a short Redis TTL need so the local tier does not
+ * outlive it.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+    private final RedisCacheManager redisCacheManager;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final NearCacheProperties properties;
+    private final Map<String, Duration> localExpiries;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                CacheInvalidationChannel invalidationChannel,
+                                NearCacheProperties properties,
+                                Map<String, Duration> localExpiries,
+                                MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationChannel = invalidationChannel;
+        this.properties = properties;
+        this.localExpiries = Map.copyOf(localExpiries);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+            .maximumSize(properties.getLocalMaximumSize())
+            .expireAfterWrite(localExpiries.getOrDefault(name, properties.getLocalExpireAfterWrite()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "local"));
+
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote instanceof RedisCache redisCache) {
+            new RedisCacheMetrics(redisCache, Tags.of("tier", "redis")).bindTo(meterRegistry);
+        }
+
+        TwoLevelCache cache = new TwoLevelCache(name, local, remote, invalidationChannel);
+        invalidationChannel.register(cache);
+        return cache;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.cache.CacheInvalidationChannel;
+import com.example.ecommerce.cache.NearCacheProperties;
+import com.example.ecommerce.cache.ProductSnapshotSerializer;
+import com.example.ecommerce.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(NearCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheInvalidationChannel cacheInvalidationChannel(StringRedisTemplate redisTemplate,
+                                                             NearCacheProperties properties) {
+        return new CacheInvalidationChannel(redisTemplate, properties.getInvalidationChannel());
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheInvalidationChannel invalidationChannel,
+                                     NearCacheProperties properties,
+                                     MeterRegistry meterRegistry) {
+        Duration facetsTimeToLive = properties.getFacetsTimeToLive();
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(properties.getRedisTimeToLive());
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(defaults)
+            .withCacheConfiguration("products", defaults
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(new ProductSnapshotSerializer())))
+            .withCacheConfiguration("productFacets", defaults.entryTtl(facetsTimeToLive))
+            .enableStatistics()
+            .build();
+        redisCacheManager.afterPropertiesSet();
+        Duration localExpiry = properties.getLocalExpireAfterWrite();
+        Duration facetsLocalExpiry = facetsTimeToLive.compareTo(localExpiry) < 0 ? facetsTimeToLive : localExpiry;
+        return new TwoLevelCacheManager(redisCacheManager, invalidationChannel, properties,
+            Map.of("productFacets", facetsLocalExpiry), meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationChannel invalidationChannel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidationChannel, new ChannelTopic(invalidationChannel.getTopic()));
+        return container;
+    }
+}
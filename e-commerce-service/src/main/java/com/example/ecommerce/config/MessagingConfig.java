@@ -0,0 +1,45 @@
+package com.example.ecommerce.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MessagingConfig {
+
+    /**
+     * Exchange the outbox relay publishes to; routing keys are
+     * {@code <aggregate>.<event type>}, e.g. {@code product.reserved}.
+     */
+    @Bean
+    public TopicExchange eventsExchange(@Value("${ecommerce.outbox.exchange:ecommerce.events}") String name) {
+        return new TopicExchange(name, true, false);
+    }
+
+    /**
+     * The outbox relay deletes a row only after a correlated publisher confirm, and needs
+     * unroutable messages returned rather than dropped, whatever the connection properties say.
+     */
+    @Bean
+    static BeanPostProcessor publisherConfirmsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof CachingConnectionFactory connectionFactory) {
+                    connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+                    connectionFactory.setPublisherReturns(true);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public RabbitTemplateCustomizer mandatoryPublishing() {
+        return rabbitTemplate -> rabbitTemplate.setMandatory(true);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ecommerce.config;
+
+import com.example.ecommerce.notification.NotificationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationConfig {
+}
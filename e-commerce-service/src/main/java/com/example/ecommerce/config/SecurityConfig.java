@@ -43,7 +43,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/v1/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
-                .requestMatchers("/api/v1/products").permitAll()
+                .requestMatchers("/api/v1/products", "/api/v1/products/featured").permitAll()
                 .requestMatchers("/api/v1/products/**").authenticated()
                 .anyRequest().authenticated()
             )
@@ -1,10 +1,12 @@
 package com.example.ecommerce.controller;
 
+import com.example.ecommerce.dto.CursorPage;
 import com.example.ecommerce.dto.OrderRequest;
 import com.example.ecommerce.dto.OrderResponse;
 import com.example.ecommerce.model.Order;
 import com.example.ecommerce.model.OrderStatus;
 import com.example.ecommerce.service.OrderService;
+import com.example.ecommerce.service.StatusUpdateOutcome;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -17,11 +19,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
 public class OrderController {
+    static final int MAX_STATUS_UPDATES = 10_000;
+
     private final OrderService orderService;
 
     @PostMapping
@@ -54,6 +59,18 @@ public class OrderController {
         return ResponseEntity.ok(OrderResponse.fromOrder(updatedOrder));
     }
 
+    @PostMapping("/status")
+    @Operation(summary = "Update the status of many orders, reporting the outcome per order",
+        security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<Long, StatusUpdateOutcome>> updateOrderStatuses(
+            @RequestBody Map<Long, OrderStatus> statuses) {
+        if (statuses.isEmpty() || statuses.size() > MAX_STATUS_UPDATES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderService.updateOrderStatuses(statuses));
+    }
+
     @PostMapping("/{id}/cancel")
     @Operation(summary = "Cancel an order", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("hasRole('USER')")
@@ -72,6 +89,18 @@ public class OrderController {
         return ResponseEntity.ok(orders.map(OrderResponse::fromOrder));
     }
 
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    @Operation(summary = "Get user's orders by cursor, newest first, without a total count",
+        security = @SecurityRequirement(name = "bearerAuth"))
+    @PreAuthorize("hasRole('USER') and @userSecurity.isOwner(#userId)")
+    public ResponseEntity<CursorPage<OrderResponse>> getUserOrdersByCursor(
+            @PathVariable Long userId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<Order> orders = orderService.getUserOrders(userId, cursor, size);
+        return ResponseEntity.ok(orders.map(OrderResponse::fromOrder));
+    }
+
     @PostMapping("/{id}/delivery/confirm")
     @Operation(summary = "Confirm order delivery", security = @SecurityRequirement(name = "bearerAuth"))
     @PreAuthorize("hasRole('USER') and @orderSecurity.canConfirmDelivery(#id)")
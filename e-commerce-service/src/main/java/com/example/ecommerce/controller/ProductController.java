@@ -0,0 +1,110 @@
+package com.example.ecommerce.controller;
+
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductFilter;
+import com.example.ecommerce.dto.ProductResponse;
+import com.example.ecommerce.dto.ProductSuggestion;
+import com.example.ecommerce.featured.FeaturedProductsCatalog;
+import com.example.ecommerce.service.ProductSearchService;
+import com.example.ecommerce.service.ProductService;
+import com.example.ecommerce.service.TagMatch;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ProductController {
+    private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final FeaturedProductsCatalog featuredProductsCatalog;
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "List or search products by cursor, newest first, without a total count")
+    public ResponseEntity<CursorPage<ProductResponse>> getProductsByCursor(
+            @RequestParam(required = false) String query,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<ProductResponse> products = productService.searchProducts(query, cursor, size)
+            .map(ProductResponse::fromProduct);
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/featured")
+    @Operation(summary = "Featured products, served from a precomputed snapshot with an ETag")
+    public ResponseEntity<byte[]> getFeaturedProducts(WebRequest request) {
+        FeaturedProductsCatalog.Snapshot featured = featuredProductsCatalog.current();
+        CacheControl revalidate = CacheControl.noCache().cachePublic();
+        if (request.checkNotModified(featured.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(revalidate).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(featured.etag())
+            .cacheControl(revalidate)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(featured.json());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get product by ID")
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id) {
+        return productService.getProductSnapshot(id)
+            .map(snapshot -> ProductResponse.fromSnapshot(snapshot, productService.getStockQuantity(id)))
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Full-text product search, most relevant first")
+    public ResponseEntity<Page<ProductResponse>> searchProducts(@RequestParam String query, Pageable pageable) {
+        return ResponseEntity.ok(productSearchService.search(query, pageable).map(ProductResponse::fromProduct));
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Active products matching price range, category, tags, stock and rating filters")
+    public ResponseEntity<Page<ProductResponse>> filterProducts(ProductFilter filter, Pageable pageable) {
+        return ResponseEntity.ok(productService.filterProducts(filter, pageable).map(ProductResponse::fromProduct));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Counts per category, tag and price bucket for the products matching a filter")
+    public ResponseEntity<ProductFacets> getFacets(ProductFilter filter,
+                                                   @RequestParam(required = false) List<BigDecimal> priceBounds) {
+        return ResponseEntity.ok(productService.getFacets(filter, priceBounds != null ? priceBounds : List.of()));
+    }
+
+    @GetMapping("/price-histogram")
+    @Operation(summary = "Active product counts per price bucket, each bucket starting at one of the given bounds")
+    public ResponseEntity<int[]> getPriceHistogram(@RequestParam List<BigDecimal> bounds) {
+        return ResponseEntity.ok(productService.getPriceHistogram(bounds));
+    }
+
+    @GetMapping("/tagged")
+    @Operation(summary = "Products carrying all (or any) of the given tags, newest first")
+    public ResponseEntity<Page<ProductResponse>> getProductsByTags(
+            @RequestParam List<String> tags,
+            @RequestParam(defaultValue = "ALL") TagMatch match,
+            Pageable pageable) {
+        return ResponseEntity.ok(productService.getProductsByTags(tags, match, pageable).map(ProductResponse::fromProduct));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions for active products whose name or tags match the prefix")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "" + ProductSuggestion.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(productSearchService.suggest(prefix, limit));
+    }
+}
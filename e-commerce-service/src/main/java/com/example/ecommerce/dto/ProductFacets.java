@@ -0,0 +1,54 @@
+package com.example.ecommerce.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Facet counts of the active products matching one {@link ProductFilter}: how many
+ * match in total, per category, per tag and per price bucket. Products without a
+ * category, without tags or priced below the first bucket only count towards the total.
+ */
+public record ProductFacets(
+        long total,
+        Map<Long, Long> categories,
+        Map<String, Long> tags,
+        List<PriceBucket> priceBuckets) implements Serializable {
+
+    /**
+     * Products priced from {@code from} (inclusive) up to {@code to} (exclusive; null
+     * for the open last bucket).
+     */
+    public record PriceBucket(BigDecimal from, BigDecimal to, long count) implements Serializable {
+    }
+
+    /**
+     * Cache key that is equal for filters that differ only in tag case, tag order or
+     * trailing zeros of prices.
+     */
+    public static String cacheKey(ProductFilter filter, List<BigDecimal> priceBounds) {
+        List<String> tags = filter.tags() == null ? List.of() : filter.tags().stream()
+                .filter(Objects::nonNull)
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        List<String> bounds = priceBounds.stream().map(ProductFacets::plain).toList();
+        return String.join("|",
+                plain(filter.minPrice()),
+                plain(filter.maxPrice()),
+                String.valueOf(filter.categoryId()),
+                String.join(",", tags),
+                String.valueOf(filter.inStockOnly()),
+                String.valueOf(filter.minRating()),
+                String.join(",", bounds));
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "null" : value.stripTrailingZeros().toPlainString();
+    }
+}
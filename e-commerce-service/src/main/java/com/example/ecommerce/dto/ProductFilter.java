@@ -0,0 +1,32 @@
+package com.example.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Catalog filter for product listings. Every criterion is optional; only active
+ * products are ever listed.
+ *
+ * @param minPrice    inclusive lower price bound
+ * @param maxPrice    inclusive upper price bound
+ * @param categoryId  restrict to one category
+ * @param tags        products must carry every tag, compared case-insensitively
+ * @param inStockOnly only products with stock left
+ * @param minRating   inclusive lower bound on the average rating
+ */
+public record ProductFilter(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Long categoryId,
+        List<String> tags,
+        boolean inStockOnly,
+        Double minRating) {
+
+    public static ProductFilter priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return new ProductFilter(minPrice, maxPrice, null, null, false, null);
+    }
+
+    public boolean hasTags() {
+        return tags != null && tags.stream().anyMatch(tag -> tag != null && !tag.isBlank());
+    }
+}
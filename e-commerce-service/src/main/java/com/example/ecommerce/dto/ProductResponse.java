@@ -0,0 +1,51 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.model.Product;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class ProductResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private Double averageRating;
+    private Integer totalReviews;
+    private boolean featured;
+    private boolean active;
+    private LocalDateTime createdAt;
+
+    public static ProductResponse fromProduct(Product product) {
+        ProductResponse response = new ProductResponse();
+        response.setId(product.getId());
+        response.setName(product.getName());
+        response.setDescription(product.getDescription());
+        response.setPrice(product.getPrice());
+        response.setStockQuantity(product.getStockQuantity());
+        response.setAverageRating(product.getAverageRating());
+        response.setTotalReviews(product.getTotalReviews());
+        response.setFeatured(product.isFeatured());
+        response.setActive(product.isActive());
+        response.setCreatedAt(product.getCreatedAt());
+        return response;
+    }
+
+    public static ProductResponse fromSnapshot(ProductSnapshot snapshot, int stockQuantity) {
+        ProductResponse response = new ProductResponse();
+        response.setId(snapshot.id());
+        response.setName(snapshot.name());
+        response.setDescription(snapshot.description());
+        response.setPrice(snapshot.price());
+        response.setStockQuantity(stockQuantity);
+        response.setAverageRating(snapshot.averageRating());
+        response.setTotalReviews(snapshot.totalReviews());
+        response.setFeatured(snapshot.featured());
+        response.setActive(snapshot.active());
+        response.setCreatedAt(snapshot.createdAt());
+        return response;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ecommerce.dto;
+
+import com.example.ecommerce.model.Product;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read model of a product and the unit of the {@code products} cache.
+ * Holds only scalar columns, so building and caching it never touches a lazy
+ * association. Stock is deliberately left out: it changes on every reservation and
+ * is read through {@code ProductService#getStockQuantity} instead, so reservations
+ * never invalidate cached snapshots.
+ */
+public record ProductSnapshot(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Double averageRating,
+        int totalReviews,
+        boolean featured,
+        boolean active,
+        Long categoryId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) implements Serializable {
+
+    public static ProductSnapshot fromProduct(Product product) {
+        return new ProductSnapshot(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getAverageRating(),
+                product.getTotalReviews(),
+                product.isFeatured(),
+                product.isActive(),
+                // Reading the id of an uninitialized proxy does not load the category
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ecommerce.dto;
+
+/**
+ * One typeahead entry: just enough to render the suggestion and link to the product.
+ */
+public record ProductSuggestion(Long id, String name) {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 25;
+}
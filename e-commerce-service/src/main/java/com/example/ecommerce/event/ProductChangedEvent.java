@@ -0,0 +1,24 @@
+package com.example.ecommerce.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A product was created or its catalog data (name, description, price, flags) changed.
+ */
+@Getter
+public class ProductChangedEvent extends ApplicationEvent {
+    private final Long productId;
+    // The product is featured and active now or was before the change, so the featured list is stale
+    private final boolean featuredListing;
+
+    public ProductChangedEvent(Object source, Long productId) {
+        this(source, productId, false);
+    }
+
+    public ProductChangedEvent(Object source, Long productId, boolean featuredListing) {
+        super(source);
+        this.productId = productId;
+        this.featuredListing = featuredListing;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ecommerce.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Net stock change of one product over a coalescing window, summarising one or more
+ * committed {@link ProductStockEvent}s.
+ */
+@Getter
+public class ProductStockDeltaEvent extends ApplicationEvent {
+    private final Long productId;
+    private final int netDelta;
+    private final int coalescedEvents;
+
+    public ProductStockDeltaEvent(Object source, Long productId, int netDelta, int coalescedEvents) {
+        super(source);
+        this.productId = productId;
+        this.netDelta = netDelta;
+        this.coalescedEvents = coalescedEvents;
+    }
+}
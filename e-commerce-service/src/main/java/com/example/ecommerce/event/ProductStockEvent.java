@@ -0,0 +1,24 @@
+package com.example.ecommerce.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A product's stock changed. {@code quantity} is the stock level after the change and
+ * {@code delta} the signed change itself, negative for reservations.
+ */
+@Getter
+public class ProductStockEvent extends ApplicationEvent {
+    private final Long productId;
+    private final String eventType;
+    private final int quantity;
+    private final int delta;
+
+    public ProductStockEvent(Object source, Long productId, String eventType, int quantity, int delta) {
+        super(source);
+        this.productId = productId;
+        this.eventType = eventType;
+        this.quantity = quantity;
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ecommerce.featured;
+
+import com.example.ecommerce.dto.ProductResponse;
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+
+/**
+ * The featured-products list, precomputed as the exact JSON body of
+ * {@code GET /api/v1/products/featured} together with its ETag.
+ *
+ * <p>Requests read one volatile reference and write the shared bytes, so serving the
+ * list costs no query and allocates nothing per request. A refresh builds a complete
+ * new snapshot and swaps it in. Committed changes to a product that is or was on the
+ * list mark it stale, and the next scheduled check rebuilds it. The list is also
+ * rebuilt every {@code ecommerce.featured.refresh-interval-ms}. That interval bounds
+ * how stale the stock figures can get, and how long other nodes lag behind an edit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeaturedProductsCatalog {
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    @Value("${ecommerce.featured.refresh-interval-ms:60000}")
+    private long refreshIntervalMillis = 60_000;
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isFeaturedListing()) {
+            stale = true;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ecommerce.featured.check-interval-ms:1000}")
+    public void refreshIfStale() {
+        Snapshot current = snapshot;
+        if (stale || current == null || System.currentTimeMillis() - current.refreshedAt() >= refreshIntervalMillis) {
+            refresh();
+        }
+    }
+
+    public synchronized Snapshot refresh() {
+        // Cleared first so a change committed while loading triggers another refresh
+        stale = false;
+        List<ProductResponse> products = productService.getFeaturedProducts().stream()
+                .map(ProductResponse::fromProduct)
+                .toList();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            stale = true;
+            throw new IllegalStateException("Cannot serialize featured products", e);
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        Snapshot previous = snapshot;
+        Snapshot refreshed = previous != null && previous.etag().equals(etag)
+                ? new Snapshot(previous.json(), previous.etag(), previous.size(), System.currentTimeMillis())
+                : new Snapshot(json, etag, products.size(), System.currentTimeMillis());
+        snapshot = refreshed;
+        if (previous == null || refreshed.json() != previous.json()) {
+            log.debug("Featured products refreshed: {} products, ETag {}", refreshed.size(), etag);
+        }
+        return refreshed;
+    }
+
+    /**
+     * One immutable version of the list. {@code json} is shared by every response and
+     * must never be modified.
+     */
+    public record Snapshot(byte[] json, String etag, int size, long refreshedAt) {
+    }
+}
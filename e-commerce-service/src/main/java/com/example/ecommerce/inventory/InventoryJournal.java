@@ -0,0 +1,169 @@
+package com.example.ecommerce.inventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of stock deltas for one ledger shard, split into numbered
+ * segments. Each record is a product id followed by a signed delta. Records are
+ * handed to the OS on every append and forced to disk when the segment is rotated
+ * or explicitly synced.
+ *
+ * <p>Not thread-safe; the owning shard serializes access.
+ */
+class InventoryJournal implements AutoCloseable {
+    static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final ByteBuffer record = ByteBuffer.allocateDirect(RECORD_SIZE);
+    private FileChannel channel;
+    private long currentSegment;
+
+    InventoryJournal(Path directory, long firstSegment) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create inventory journal directory " + directory, e);
+        }
+        openSegment(firstSegment);
+    }
+
+    void append(long productId, int delta) {
+        record.clear();
+        record.putLong(productId).putInt(delta).flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to inventory journal " + directory, e);
+        }
+    }
+
+    void sync() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync inventory journal " + directory, e);
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return the id of the segment that was closed
+     */
+    long rotate() {
+        long closedSegment = currentSegment;
+        sync();
+        closeChannel();
+        openSegment(closedSegment + 1);
+        return closedSegment;
+    }
+
+    /**
+     * Deletes every closed segment up to and including the given id.
+     */
+    void deleteSegmentsUpTo(long segmentId) {
+        for (long id : segmentIds(directory)) {
+            if (id <= segmentId && id != currentSegment) {
+                try {
+                    Files.deleteIfExists(segmentPath(directory, id));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to delete inventory journal segment " + id, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sync();
+        closeChannel();
+    }
+
+    /**
+     * Lists segment ids present in a journal directory in ascending order.
+     */
+    static List<Long> segmentIds(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list inventory journal " + directory, e);
+        }
+    }
+
+    /**
+     * Reads a segment and sums its deltas per product. A torn record at the end of
+     * the file, left by a crash mid-append, is ignored.
+     */
+    static Map<Long, Integer> readSegment(Path directory, long segmentId) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath(directory, segmentId)));
+            while (buffer.remaining() >= RECORD_SIZE) {
+                deltas.merge(buffer.getLong(), buffer.getInt(), Integer::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read inventory journal segment " + segmentId, e);
+        }
+        return deltas;
+    }
+
+    static void deleteSegments(Path directory, List<Long> segmentIds) {
+        List<IOException> failures = new ArrayList<>();
+        for (long id : segmentIds) {
+            try {
+                Files.deleteIfExists(segmentPath(directory, id));
+            } catch (IOException e) {
+                failures.add(e);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new UncheckedIOException("Failed to delete inventory journal segments in " + directory, failures.get(0));
+        }
+    }
+
+    private void openSegment(long segmentId) {
+        try {
+            channel = FileChannel.open(segmentPath(directory, segmentId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            currentSegment = segmentId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open inventory journal segment " + segmentId, e);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close inventory journal " + directory, e);
+        }
+    }
+
+    private static Path segmentPath(Path directory, long segmentId) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+    }
+}
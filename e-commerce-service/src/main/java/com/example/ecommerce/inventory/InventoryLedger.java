@@ -0,0 +1,266 @@
+package com.example.ecommerce.inventory;
+
+import com.example.ecommerce.exception.ProductNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Authoritative in-memory stock counters for flash-sale traffic.
+ *
+ * <p>Counters are loaded lazily from {@code products} and changed with CAS only.
+ * Every applied delta is appended to the journal of the product's shard and
+ * accumulated in that shard's pending map. A scheduled flush rotates each shard's
+ * journal and writes the coalesced deltas to {@code products} together with a
+ * per-shard checkpoint in one transaction. Segments up to the checkpoint are then
+ * deleted. On startup, segments past the checkpoint are replayed into the
+ * database before any counter is loaded.
+ *
+ * <p>The counters assume this node is the only writer of stock, so this mode is
+ * meant for single-node deployments.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ecommerce.inventory.reservation-mode", havingValue = "LEDGER")
+public class InventoryLedger {
+    private static final String LOAD_STOCK_SQL = "SELECT stock_quantity FROM products WHERE id = ?";
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1 WHERE id = ?";
+    private static final String READ_CHECKPOINT_SQL =
+            "SELECT last_segment FROM inventory_ledger_checkpoints WHERE shard = ?";
+    private static final String UPSERT_CHECKPOINT_SQL =
+            "INSERT INTO inventory_ledger_checkpoints (shard, last_segment) VALUES (?, ?) " +
+            "ON CONFLICT (shard) DO UPDATE SET last_segment = EXCLUDED.last_segment";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path journalDirectory;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    public InventoryLedger(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${ecommerce.inventory.ledger.journal-dir:data/inventory-journal}") String journalDirectory,
+                           @Value("${ecommerce.inventory.ledger.shards:16}") int minimumShards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journalDirectory = Path.of(journalDirectory);
+
+        int shardCount = 1;
+        while (shardCount < minimumShards) {
+            shardCount <<= 1;
+        }
+        this.shards = new Shard[shardCount];
+        this.shardMask = shardCount - 1;
+    }
+
+    @PostConstruct
+    void recover() {
+        for (int i = 0; i < shards.length; i++) {
+            Path shardDirectory = journalDirectory.resolve("shard-" + i);
+            long nextSegment = replayJournal(i, shardDirectory);
+            shards[i] = new Shard(i, new InventoryJournal(shardDirectory, nextSegment));
+        }
+        log.info("Inventory ledger started with {} shards journaling to {}", shards.length, journalDirectory.toAbsolutePath());
+    }
+
+    /**
+     * Applies the delta unless it would take the counter below zero.
+     *
+     * @return false when there is not enough stock
+     */
+    public boolean tryApply(long productId, int delta) {
+        Shard shard = shardFor(productId);
+        AtomicInteger counter = counterFor(shard, productId);
+        int current;
+        do {
+            current = counter.get();
+            if (current + delta < 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + delta));
+
+        record(shard, counter, productId, delta);
+        return true;
+    }
+
+    /**
+     * Applies the delta unconditionally; used to compensate reservations whose
+     * surrounding transaction rolled back.
+     */
+    public void forceApply(long productId, int delta) {
+        Shard shard = shardFor(productId);
+        AtomicInteger counter = counterFor(shard, productId);
+        counter.addAndGet(delta);
+        record(shard, counter, productId, delta);
+    }
+
+    public int available(long productId) {
+        Shard shard = shardFor(productId);
+        return counterFor(shard, productId).get();
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.ledger.flush-interval-ms:200}")
+    public void flush() {
+        for (Shard shard : shards) {
+            flushShard(shard);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.journal.close();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private void record(Shard shard, AtomicInteger counter, long productId, int delta) {
+        shard.lock.lock();
+        try {
+            shard.journal.append(productId, delta);
+            shard.pendingDeltas.merge(productId, delta, Integer::sum);
+        } catch (RuntimeException e) {
+            // Not journaled, so the change must not stay visible either
+            counter.addAndGet(-delta);
+            throw e;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void flushShard(Shard shard) {
+        Map<Long, Integer> drained;
+        long closedSegment;
+        shard.lock.lock();
+        try {
+            if (shard.pendingDeltas.isEmpty()) {
+                return;
+            }
+            drained = shard.pendingDeltas;
+            shard.pendingDeltas = new HashMap<>();
+            closedSegment = shard.journal.rotate();
+        } finally {
+            shard.lock.unlock();
+        }
+
+        try {
+            writeDeltas(shard.index, drained, closedSegment);
+        } catch (RuntimeException e) {
+            log.error("Write-behind of {} stock deltas failed for ledger shard {}, retrying on next flush",
+                    drained.size(), shard.index, e);
+            shard.lock.lock();
+            try {
+                drained.forEach((productId, delta) -> shard.pendingDeltas.merge(productId, delta, Integer::sum));
+            } finally {
+                shard.lock.unlock();
+            }
+            return;
+        }
+
+        shard.lock.lock();
+        try {
+            shard.journal.deleteSegmentsUpTo(closedSegment);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private long replayJournal(int shard, Path shardDirectory) {
+        // Read even without segments: a clean flush deletes them all but keeps the checkpoint,
+        // and new segments must be numbered past it or the next replay would skip them
+        long checkpoint = readCheckpoint(shard);
+        List<Long> segments = InventoryJournal.segmentIds(shardDirectory);
+        if (segments.isEmpty()) {
+            return checkpoint + 1;
+        }
+
+        long lastSegment = segments.get(segments.size() - 1);
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (long segment : segments) {
+            if (segment > checkpoint) {
+                InventoryJournal.readSegment(shardDirectory, segment)
+                        .forEach((productId, delta) -> deltas.merge(productId, delta, Integer::sum));
+            }
+        }
+
+        if (lastSegment > checkpoint) {
+            writeDeltas(shard, deltas, lastSegment);
+            log.info("Replayed {} journaled stock deltas for ledger shard {}", deltas.size(), shard);
+        }
+        InventoryJournal.deleteSegments(shardDirectory, segments);
+        return Math.max(lastSegment, checkpoint) + 1;
+    }
+
+    private void writeDeltas(int shard, Map<Long, Integer> deltas, long lastSegment) {
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                batchArgs.add(new Object[]{delta, productId});
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batchArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batchArgs);
+            }
+            jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, shard, lastSegment);
+        });
+    }
+
+    private long readCheckpoint(int shard) {
+        Long checkpoint = jdbcTemplate.query(READ_CHECKPOINT_SQL, rs -> rs.next() ? rs.getLong(1) : null, shard);
+        return checkpoint != null ? checkpoint : -1L;
+    }
+
+    private AtomicInteger counterFor(Shard shard, long productId) {
+        return shard.counters.computeIfAbsent(productId, this::loadStock);
+    }
+
+    private AtomicInteger loadStock(Long productId) {
+        Integer stock = jdbcTemplate.query(LOAD_STOCK_SQL, rs -> rs.next() ? rs.getInt(1) : null, productId);
+        if (stock == null) {
+            throw new ProductNotFoundException("Product not found with id: " + productId);
+        }
+        return new AtomicInteger(stock);
+    }
+
+    private Shard shardFor(long productId) {
+        int h = Long.hashCode(productId);
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentHashMap<Long, AtomicInteger> counters = new ConcurrentHashMap<>();
+        private final InventoryJournal journal;
+        private Map<Long, Integer> pendingDeltas = new HashMap<>();
+
+        private Shard(int index, InventoryJournal journal) {
+            this.index = index;
+            this.journal = journal;
+        }
+    }
+}
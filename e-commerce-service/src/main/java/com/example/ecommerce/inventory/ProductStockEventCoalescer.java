@@ -0,0 +1,146 @@
+package com.example.ecommerce.inventory;
+
+import com.example.ecommerce.event.ProductStockDeltaEvent;
+import com.example.ecommerce.event.ProductStockEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Merges committed {@link ProductStockEvent}s per product and publishes one
+ * {@link ProductStockDeltaEvent} per product with the net change. A window is closed
+ * every {@code window-ms} or as soon as it holds {@code max-batch-size} events,
+ * whichever comes first. Products whose changes cancel out are not published. A full
+ * window is handed to a dedicated flush thread, so delta listeners never run on the
+ * thread that committed the stock change.
+ *
+ * <p>Listeners that only care about the resulting stock level (search, caches,
+ * analytics) should consume the delta events instead of the raw ones.
+ *
+ * <p>Counters {@code stock.events.received} and {@code stock.events.emitted} give
+ * the coalescing ratio; {@code stock.events.suppressed} counts zero-net products.
+ */
+@Slf4j
+@Component
+public class ProductStockEventCoalescer {
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final Counter receivedEvents;
+    private final Counter emittedEvents;
+    private final Counter suppressedEvents;
+
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-delta-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Long, PendingDelta> pending = new HashMap<>();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    public ProductStockEventCoalescer(ApplicationEventPublisher eventPublisher,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${ecommerce.inventory.stock-events.max-batch-size:500}") int maxBatchSize) {
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.receivedEvents = meterRegistry.counter("stock.events.received");
+        this.emittedEvents = meterRegistry.counter("stock.events.emitted");
+        this.suppressedEvents = meterRegistry.counter("stock.events.suppressed");
+        Gauge.builder("stock.events.pending", pendingEvents, AtomicInteger::get)
+            .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockEvent(ProductStockEvent event) {
+        receivedEvents.increment();
+        boolean windowFull;
+        lock.lock();
+        try {
+            pending.computeIfAbsent(event.getProductId(), id -> new PendingDelta())
+                .add(event.getDelta());
+            windowFull = pendingEvents.incrementAndGet() >= maxBatchSize;
+        } finally {
+            lock.unlock();
+        }
+
+        // One queued flush at a time; events arriving meanwhile join the window it closes
+        if (windowFull && flushQueued.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Closes the current window and publishes its net deltas.
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.stock-events.window-ms:1000}")
+    public void flush() {
+        Map<Long, PendingDelta> window;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            window = pending;
+            pending = new HashMap<>();
+            pendingEvents.set(0);
+        } finally {
+            lock.unlock();
+        }
+
+        window.forEach((productId, delta) -> {
+            if (delta.netDelta == 0) {
+                suppressedEvents.increment();
+                return;
+            }
+            emittedEvents.increment();
+            try {
+                eventPublisher.publishEvent(new ProductStockDeltaEvent(this, productId, delta.netDelta, delta.events));
+            } catch (RuntimeException e) {
+                log.error("Stock delta listener failed for product {}", productId, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private static final class PendingDelta {
+        private int netDelta;
+        private int events;
+
+        private void add(int delta) {
+            netDelta += delta;
+            events++;
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.ecommerce.model;
 
+import com.example.ecommerce.util.Money;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,7 +18,26 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.GRAPH_SUMMARY, attributeNodes = {
+    @NamedAttributeNode("payment"),
+    @NamedAttributeNode("shippingAddress")
+})
+@NamedEntityGraph(name = Order.GRAPH_ITEMS, attributeNodes = {
+    @NamedAttributeNode(value = "items", subgraph = "items")
+}, subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
+@NamedEntityGraph(name = Order.GRAPH_DETAIL, attributeNodes = {
+    @NamedAttributeNode(value = "items", subgraph = "items"),
+    @NamedAttributeNode("payment"),
+    @NamedAttributeNode("shippingAddress")
+}, subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product")))
 public class Order {
+    // To-one associations only, so it is safe to combine with paging
+    public static final String GRAPH_SUMMARY = "Order.summary";
+    // Items and their products, for initializing the items of an already loaded page
+    public static final String GRAPH_ITEMS = "Order.items";
+    // Everything OrderResponse.fromOrder touches, for single-order reads
+    public static final String GRAPH_DETAIL = "Order.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -64,24 +87,67 @@ public class Order {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Sum of item subtotals in minor units, kept up to date by addItem/removeItem.
+    // Unknown after loading, since the items may not be initialized yet.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient long itemsTotalMinorUnits;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient boolean itemsTotalKnown = true;
+
+    @PostLoad
+    void markItemsTotalUnknown() {
+        itemsTotalKnown = false;
+    }
+
+    /**
+     * Adds the item and updates {@code totalAmount} in constant time.
+     */
     public void addItem(OrderItem item) {
+        long subtotal = Money.toMinorUnits(item.getSubtotal());
         items.add(item);
         item.setOrder(this);
-        recalculateTotal();
+        if (itemsTotalKnown) {
+            itemsTotalMinorUnits = Math.addExact(itemsTotalMinorUnits, subtotal);
+            applyTotal();
+        } else {
+            recalculateTotal();
+        }
     }
 
     public void removeItem(OrderItem item) {
-        items.remove(item);
+        if (!items.remove(item)) {
+            return;
+        }
         item.setOrder(null);
-        recalculateTotal();
+        if (itemsTotalKnown) {
+            itemsTotalMinorUnits = Math.subtractExact(itemsTotalMinorUnits, Money.toMinorUnits(item.getSubtotal()));
+            applyTotal();
+        } else {
+            recalculateTotal();
+        }
     }
 
+    /**
+     * Recomputes {@code totalAmount} from every item. Needed after changing the
+     * quantity or price of an item already in the order, or shipping cost or tax.
+     */
     public void recalculateTotal() {
-        this.totalAmount = items.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .add(shippingCost)
-                .add(taxAmount);
+        long itemsTotal = 0;
+        for (OrderItem item : items) {
+            itemsTotal = Math.addExact(itemsTotal, Money.toMinorUnits(item.getSubtotal()));
+        }
+        itemsTotalMinorUnits = itemsTotal;
+        itemsTotalKnown = true;
+        applyTotal();
+    }
+
+    private void applyTotal() {
+        long total = Math.addExact(itemsTotalMinorUnits,
+                Math.addExact(Money.toMinorUnits(shippingCost), Money.toMinorUnits(taxAmount)));
+        this.totalAmount = Money.fromMinorUnits(total);
     }
 
     public boolean canCancel() {
@@ -93,59 +159,15 @@ public class Order {
     public void updateStatus(OrderStatus newStatus) {
         validateStatusTransition(newStatus);
         this.status = newStatus;
-        if (newStatus == OrderStatus.COMPLETED) {
+        if (newStatus.marksCompletion()) {
             this.completedAt = LocalDateTime.now();
         }
     }
 
     private void validateStatusTransition(OrderStatus newStatus) {
-        if (!isValidStatusTransition(newStatus)) {
+        if (!this.status.canTransitionTo(newStatus)) {
             throw new IllegalStateException(
                 "Invalid order status transition from " + this.status + " to " + newStatus);
         }
     }
-
-    private boolean isValidStatusTransition(OrderStatus newStatus) {
-        switch (this.status) {
-            case CREATED:
-                return newStatus == OrderStatus.CONFIRMED ||
-                       newStatus == OrderStatus.CANCELLED;
-            case CONFIRMED:
-                return newStatus == OrderStatus.PAYMENT_PENDING ||
-                       newStatus == OrderStatus.CANCELLED;
-            case PAYMENT_PENDING:
-                return newStatus == OrderStatus.PAID ||
-                       newStatus == OrderStatus.PAYMENT_FAILED ||
-                       newStatus == OrderStatus.CANCELLED;
-            case PAID:
-                return newStatus == OrderStatus.PROCESSING ||
-                       newStatus == OrderStatus.REFUNDED;
-            case PROCESSING:
-                return newStatus == OrderStatus.SHIPPED ||
-                       newStatus == OrderStatus.CANCELLED;
-            case SHIPPED:
-                return newStatus == OrderStatus.DELIVERED ||
-                       newStatus == OrderStatus.RETURNED;
-            case DELIVERED:
-                return newStatus == OrderStatus.COMPLETED ||
-                       newStatus == OrderStatus.RETURNED;
-            default:
-                return false;
-        }
-    }
-}
-
-enum OrderStatus {
-    CREATED,
-    CONFIRMED,
-    PAYMENT_PENDING,
-    PAYMENT_FAILED,
-    PAID,
-    PROCESSING,
-    SHIPPED,
-    DELIVERED,
-    COMPLETED,
-    CANCELLED,
-    REFUNDED,
-    RETURNED
 }
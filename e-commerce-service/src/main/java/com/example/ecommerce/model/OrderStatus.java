@@ -0,0 +1,80 @@
+package com.example.ecommerce.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Order lifecycle. The allowed transitions are declared once in the table below;
+ * {@link Order#updateStatus} and the bulk status update both check against it.
+ */
+public enum OrderStatus {
+    CREATED,
+    CONFIRMED,
+    PAYMENT_PENDING,
+    PAYMENT_FAILED,
+    PAID,
+    PROCESSING,
+    SHIPPED,
+    DELIVERED,
+    COMPLETED,
+    CANCELLED,
+    REFUNDED,
+    RETURNED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TARGETS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        allow(CREATED, CONFIRMED, CANCELLED);
+        allow(CONFIRMED, PAYMENT_PENDING, CANCELLED);
+        allow(PAYMENT_PENDING, PAID, PAYMENT_FAILED, CANCELLED);
+        allow(PAID, PROCESSING, REFUNDED);
+        allow(PROCESSING, SHIPPED, CANCELLED);
+        allow(SHIPPED, DELIVERED, RETURNED);
+        allow(DELIVERED, COMPLETED, RETURNED);
+
+        for (OrderStatus status : values()) {
+            TARGETS.putIfAbsent(status, EnumSet.noneOf(OrderStatus.class));
+            SOURCES.putIfAbsent(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TARGETS.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+        SOURCES.replaceAll((status, sources) -> Collections.unmodifiableSet(sources));
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... to) {
+        Set<OrderStatus> targets = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus target : to) {
+            targets.add(target);
+            SOURCES.computeIfAbsent(target, t -> EnumSet.noneOf(OrderStatus.class)).add(from);
+        }
+        TARGETS.put(from, targets);
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TARGETS.get(this).contains(next);
+    }
+
+    /**
+     * Statuses an order may move to from this one; empty for final statuses.
+     */
+    public Set<OrderStatus> nextStatuses() {
+        return TARGETS.get(this);
+    }
+
+    /**
+     * Statuses an order may be in to move to this one; empty for {@link #CREATED}.
+     */
+    public Set<OrderStatus> previousStatuses() {
+        return SOURCES.get(this);
+    }
+
+    /**
+     * Whether entering this status stamps the order's {@code completedAt}.
+     */
+    public boolean marksCompletion() {
+        return this == DELIVERED || this == COMPLETED;
+    }
+}
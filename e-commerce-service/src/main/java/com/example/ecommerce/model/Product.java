@@ -12,7 +12,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Data
@@ -46,8 +48,10 @@ public class Product {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ProductImage> images = new HashSet<>();
 
+    // A bag: adding to the uninitialized inverse side queues the review instead of loading
+    // every review to check for duplicates, and the queued review still cascades on flush
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<ProductReview> reviews = new HashSet<>();
+    private List<ProductReview> reviews = new ArrayList<>();
 
     @ManyToMany
     @JoinTable(name = "product_tags",
@@ -64,6 +68,9 @@ public class Product {
     @Column(name = "total_reviews")
     private Integer totalReviews = 0;
 
+    @Column(name = "rating_sum")
+    private Long ratingSum = 0L;
+
     @Column(name = "is_featured")
     private boolean featured;
 
@@ -86,16 +93,19 @@ public class Product {
         this.stockQuantity += quantity;
     }
 
+    /**
+     * Adds the review, saved with this product, and updates the rating aggregates.
+     */
     public void addReview(ProductReview review) {
+        review.setProduct(this);
         reviews.add(review);
-        updateAverageRating();
+        recordRating(review.getRating());
     }
 
-    private void updateAverageRating() {
-        this.averageRating = reviews.stream()
-                .mapToDouble(ProductReview::getRating)
-                .average()
-                .orElse(0.0);
-        this.totalReviews = reviews.size();
+    // O(1) update of the rating aggregates
+    public void recordRating(int rating) {
+        this.ratingSum += rating;
+        this.totalReviews += 1;
+        this.averageRating = (double) this.ratingSum / this.totalReviews;
     }
 }
@@ -0,0 +1,199 @@
+package com.example.ecommerce.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends notifications off the request thread on a dedicated, bounded executor.
+ *
+ * <p>At most {@code concurrency} notifications run at once and at most
+ * {@code queueCapacity} wait; beyond that the configured rejection policy applies.
+ * Senders run on virtual threads when the JVM provides them, otherwise on a small
+ * pool of daemon platform threads. A failing sender is logged and counted, never
+ * propagated to the caller.
+ *
+ * <p>Metrics, all tagged by {@code type}:
+ * <ul>
+ *   <li>{@code notifications.latency} - send time, also tagged by {@code outcome}</li>
+ *   <li>{@code notifications.queue.wait} - time spent queued before sending</li>
+ *   <li>{@code notifications.queue.depth} - notifications currently queued</li>
+ *   <li>{@code notifications.rejected} - notifications hit by the rejection policy</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    private static final String THREAD_NAME_PREFIX = "notification-";
+
+    private final MeterRegistry meterRegistry;
+    private final NotificationProperties.RejectionPolicy rejectionPolicy;
+    private final long shutdownTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<NotificationType, AtomicInteger> queued = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Timer> queueWaitTimers = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, Counter> rejectedCounters = new EnumMap<>(NotificationType.class);
+
+    public NotificationDispatcher(NotificationProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.rejectionPolicy = properties.getRejectionPolicy();
+        this.shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+
+        ThreadFactory threadFactory = properties.isVirtualThreads() ? virtualThreadFactory() : null;
+        if (threadFactory == null) {
+            threadFactory = platformThreadFactory();
+        }
+        this.executor = new ThreadPoolExecutor(
+            properties.getConcurrency(), properties.getConcurrency(), 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()), threadFactory, new RejectionHandler());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        for (NotificationType type : NotificationType.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            queued.put(type, depth);
+            Gauge.builder("notifications.queue.depth", depth, AtomicInteger::get)
+                .tag("type", type.name())
+                .register(meterRegistry);
+            queueWaitTimers.put(type, meterRegistry.timer("notifications.queue.wait", "type", type.name()));
+            rejectedCounters.put(type, meterRegistry.counter("notifications.rejected",
+                "type", type.name(), "policy", rejectionPolicy.name()));
+        }
+    }
+
+    /**
+     * Queues a notification for sending.
+     *
+     * @throws RejectedExecutionException only when the queue is full and the policy is {@code ABORT}
+     */
+    public void dispatch(NotificationType type, Runnable sender) {
+        queued.get(type).incrementAndGet();
+        executor.execute(new DispatchTask(type, sender));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Dropping {} queued notifications on shutdown", executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class DispatchTask implements Runnable {
+        private final NotificationType type;
+        private final Runnable sender;
+        private final long enqueuedAt = System.nanoTime();
+        private boolean dequeued;
+
+        private DispatchTask(NotificationType type, Runnable sender) {
+            this.type = type;
+            this.sender = sender;
+        }
+
+        @Override
+        public void run() {
+            dequeue();
+            queueWaitTimers.get(type).record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+
+            long start = System.nanoTime();
+            String outcome = "success";
+            try {
+                sender.run();
+            } catch (RuntimeException e) {
+                outcome = "failure";
+                log.error("Failed to send {} notification", type, e);
+            } finally {
+                meterRegistry.timer("notifications.latency", "type", type.name(), "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void reject() {
+            dequeue();
+            rejectedCounters.get(type).increment();
+        }
+
+        private void dequeue() {
+            if (!dequeued) {
+                dequeued = true;
+                queued.get(type).decrementAndGet();
+            }
+        }
+    }
+
+    private final class RejectionHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor pool) {
+            DispatchTask task = (DispatchTask) runnable;
+            if (pool.isShutdown()) {
+                task.reject();
+                log.warn("Dropping {} notification submitted during shutdown", task.type);
+                return;
+            }
+
+            switch (rejectionPolicy) {
+                case CALLER_RUNS -> {
+                    rejectedCounters.get(task.type).increment();
+                    task.run();
+                }
+                case DISCARD -> {
+                    task.reject();
+                    log.warn("Notification queue full, dropped {} notification", task.type);
+                }
+                case DISCARD_OLDEST -> {
+                    DispatchTask oldest = (DispatchTask) pool.getQueue().poll();
+                    if (oldest != null) {
+                        oldest.reject();
+                        log.warn("Notification queue full, dropped queued {} notification", oldest.type);
+                    }
+                    pool.execute(task);
+                }
+                case ABORT -> {
+                    task.reject();
+                    throw new RejectedExecutionException("Notification queue full, rejected " + task.type + " notification");
+                }
+            }
+        }
+    }
+
+    // Thread.ofVirtual() is JDK 21 API; looked up reflectively so the service still runs on 17
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicLong sequence = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ecommerce.notification;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link NotificationDispatcher}, bound from {@code ecommerce.notifications.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "ecommerce.notifications")
+public class NotificationProperties {
+
+    /**
+     * Maximum number of notifications being sent at the same time.
+     */
+    private int concurrency = 16;
+
+    /**
+     * Maximum number of notifications waiting for a free sender.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * What to do with a notification when the queue is full.
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+    /**
+     * Run senders on virtual threads when the JVM supports them (JDK 21+).
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * How long shutdown waits for queued notifications to drain.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum RejectionPolicy {
+        /** Send on the submitting thread, slowing the caller down. */
+        CALLER_RUNS,
+        /** Drop the new notification. */
+        DISCARD,
+        /** Drop the notification that has waited longest and queue the new one. */
+        DISCARD_OLDEST,
+        /** Throw {@link java.util.concurrent.RejectedExecutionException} to the caller. */
+        ABORT
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ecommerce.notification;
+
+/**
+ * Kinds of customer notification sent by the order workflow. Used as the
+ * {@code type} tag on dispatcher metrics.
+ */
+public enum NotificationType {
+    ORDER_CREATED,
+    ORDER_CANCELLED,
+    PAYMENT_CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    RETURNED
+}
@@ -0,0 +1,56 @@
+package com.example.ecommerce.outbox;
+
+import com.example.ecommerce.event.OrderEvent;
+import com.example.ecommerce.event.ProductStockEvent;
+import com.example.ecommerce.model.OutboxEvent;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox table. Listeners run on the publishing thread,
+ * so the row is written in the business transaction and rolls back with it; the
+ * event is only relayed once that transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventWriter {
+    static final String ORDER = "ORDER";
+    static final String PRODUCT = "PRODUCT";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", event.getOrderId());
+        payload.put("eventType", event.getEventType());
+        write(ORDER, event.getOrderId(), event.getEventType(), payload);
+    }
+
+    @EventListener
+    public void onProductStockEvent(ProductStockEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("productId", event.getProductId());
+        payload.put("eventType", event.getEventType());
+        payload.put("quantity", event.getQuantity());
+        payload.put("delta", event.getDelta());
+        write(PRODUCT, event.getProductId(), event.getEventType(), payload);
+    }
+
+    private void write(String aggregateType, Long aggregateId, String eventType, Map<String, Object> payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType,
+                objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " event for outbox", e);
+        }
+    }
+}
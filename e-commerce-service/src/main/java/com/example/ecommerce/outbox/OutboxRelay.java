@@ -0,0 +1,169 @@
+package com.example.ecommerce.outbox;
+
+import com.example.ecommerce.model.OutboxEvent;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox to AMQP.
+ *
+ * <p>Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, published and deleted
+ * in one transaction, so any number of nodes can relay concurrently without sending
+ * the same row twice. Messages are published mandatory with a correlated publisher
+ * confirm (see MessagingConfig), and only rows whose message the broker acked and did
+ * not return as unroutable are deleted. A nacked or unconfirmed row counts an attempt
+ * and stays for the next poll until {@code ecommerce.outbox.max-attempts}; an
+ * unroutable row, or one out of attempts, is parked so it no longer holds up the head
+ * of the outbox. If publishing fails the transaction rolls back and the batch is
+ * retried on the next poll. Delivery is at-least-once: a crash between publishing and commit, or a
+ * confirm that times out after the broker stored the message, resends it, so consumers
+ * should de-duplicate on the message id, which is the outbox row id.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String exchange;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final long confirmTimeoutMillis;
+    private final int maxAttempts;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${ecommerce.outbox.exchange:ecommerce.events}") String exchange,
+                       @Value("${ecommerce.outbox.batch-size:100}") int batchSize,
+                       @Value("${ecommerce.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+                       @Value("${ecommerce.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                       @Value("${ecommerce.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exchange = exchange;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Relays full batches back to back until the outbox is drained, a batch is not fully
+     * confirmed or the per-poll limit is reached.
+     *
+     * @return the number of events relayed
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.outbox.poll-interval-ms:500}")
+    public int relay() {
+        int relayed = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                Integer count = transactionTemplate.execute(status -> relayBatch());
+                relayed += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed after {} events, retrying on next poll", relayed, e);
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Publish the whole batch first so the confirms are awaited concurrently
+        List<CorrelationData> correlations = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(event.getId()));
+            rabbitTemplate.send(exchange, event.routingKey(), toMessage(event), correlation);
+            correlations.add(correlation);
+        }
+
+        List<OutboxEvent> confirmed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (isConfirmed(batch.get(i), correlations.get(i))) {
+                confirmed.add(batch.get(i));
+            }
+        }
+        if (!confirmed.isEmpty()) {
+            outboxEventRepository.deleteAllInBatch(confirmed);
+        }
+        return confirmed.size();
+    }
+
+    // Failed events stay locked and managed, so attempts and parking are written on commit
+    private boolean isConfirmed(OutboxEvent event, CorrelationData correlation) {
+        CorrelationData.Confirm confirm;
+        try {
+            confirm = correlation.getFuture().get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            recordFailure(event, "No publisher confirm: " + e, false);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (!confirm.isAck()) {
+            recordFailure(event, "Nacked by broker: " + confirm.getReason(), false);
+            return false;
+        }
+        ReturnedMessage returned = correlation.getReturned();
+        if (returned != null) {
+            // Retrying cannot help until someone binds the routing key
+            recordFailure(event, "Unroutable: " + returned.getReplyText() + " via " + returned.getExchange()
+                + " with key " + returned.getRoutingKey(), true);
+            return false;
+        }
+        return true;
+    }
+
+    private void recordFailure(OutboxEvent event, String error, boolean park) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (park || event.getAttempts() >= maxAttempts) {
+            event.setParkedAt(LocalDateTime.now());
+            log.error("Parked outbox event {} after {} attempts: {}", event.getId(), event.getAttempts(), error);
+        } else {
+            log.warn("Outbox event {} not relayed (attempt {}), keeping it for the next poll: {}",
+                event.getId(), event.getAttempts(), error);
+        }
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setContentEncoding(StandardCharsets.UTF_8.name())
+            .setMessageId(String.valueOf(event.getId()))
+            .setType(event.getEventType())
+            .setTimestamp(Timestamp.valueOf(event.getCreatedAt()))
+            .build();
+    }
+}
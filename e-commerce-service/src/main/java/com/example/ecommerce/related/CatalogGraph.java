@@ -0,0 +1,172 @@
+package com.example.ecommerce.related;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Products and the signals that relate them: category, tags and how often two
+ * products were bought in the same order. Ids are mapped to dense indexes so the
+ * calculator works on primitive arrays only.
+ */
+public final class CatalogGraph {
+    final long[] productIds;
+    // Dense category index per product, -1 when uncategorized
+    final int[] categories;
+    final int[][] tagsByProduct;
+    final int[][] productsByTag;
+    // Orders containing each product, and per product its co-purchased products with shared order counts
+    final int[] orderCounts;
+    final int[][] coPurchased;
+    final int[][] coPurchaseCounts;
+
+    private CatalogGraph(long[] productIds, int[] categories, int[][] tagsByProduct, int[][] productsByTag,
+                         int[] orderCounts, int[][] coPurchased, int[][] coPurchaseCounts) {
+        this.productIds = productIds;
+        this.categories = categories;
+        this.tagsByProduct = tagsByProduct;
+        this.productsByTag = productsByTag;
+        this.orderCounts = orderCounts;
+        this.coPurchased = coPurchased;
+        this.coPurchaseCounts = coPurchaseCounts;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects rows as they are streamed from the database. Signals that refer to a
+     * product which was not added first are ignored.
+     */
+    public static final class Builder {
+        private final Map<Long, Integer> productIndexes = new HashMap<>();
+        private final Map<Long, Integer> categoryIndexes = new HashMap<>();
+        private final Map<Long, Integer> tagIndexes = new HashMap<>();
+        private final LongList productIds = new LongList();
+        private final IntList categories = new IntList();
+        private final IntList tagProducts = new IntList();
+        private final IntList tagIds = new IntList();
+        private final IntList coPurchaseFrom = new IntList();
+        private final IntList coPurchaseTo = new IntList();
+        private final IntList coPurchaseOrders = new IntList();
+        private final Map<Integer, Integer> orderCounts = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addProduct(long productId, Long categoryId) {
+            if (productIndexes.putIfAbsent(productId, productIds.size) == null) {
+                productIds.add(productId);
+                categories.add(categoryId != null ? categoryIndexes.computeIfAbsent(categoryId, id -> categoryIndexes.size()) : -1);
+            }
+            return this;
+        }
+
+        public Builder addTag(long productId, long tagId) {
+            Integer product = productIndexes.get(productId);
+            if (product != null) {
+                tagProducts.add(product);
+                tagIds.add(tagIndexes.computeIfAbsent(tagId, id -> tagIndexes.size()));
+            }
+            return this;
+        }
+
+        public Builder addPurchases(long productId, int orders) {
+            Integer product = productIndexes.get(productId);
+            if (product != null) {
+                orderCounts.merge(product, orders, Integer::sum);
+            }
+            return this;
+        }
+
+        /**
+         * Records that {@code relatedProductId} appeared in {@code orders} orders together
+         * with {@code productId}. Directed; add both directions for a symmetric relation.
+         */
+        public Builder addCoPurchase(long productId, long relatedProductId, int orders) {
+            Integer from = productIndexes.get(productId);
+            Integer to = productIndexes.get(relatedProductId);
+            if (from != null && to != null && !from.equals(to)) {
+                coPurchaseFrom.add(from);
+                coPurchaseTo.add(to);
+                coPurchaseOrders.add(orders);
+            }
+            return this;
+        }
+
+        public CatalogGraph build() {
+            int size = productIds.size;
+            int[][] tagsByProduct = group(tagProducts, tagIds, null, size)[0];
+            int[][] productsByTag = group(tagIds, tagProducts, null, tagIndexes.size())[0];
+            int[][][] coPurchases = group(coPurchaseFrom, coPurchaseTo, coPurchaseOrders, size);
+
+            int[] purchases = new int[size];
+            orderCounts.forEach((product, orders) -> purchases[product] = orders);
+            return new CatalogGraph(productIds.toArray(), categories.toArray(), tagsByProduct, productsByTag,
+                    purchases, coPurchases[0], coPurchases[1]);
+        }
+
+        // Groups parallel (key, value[, weight]) columns into one array per key
+        private static int[][][] group(IntList keys, IntList values, IntList weights, int keyCount) {
+            int[] counts = new int[keyCount];
+            for (int i = 0; i < keys.size; i++) {
+                counts[keys.values[i]]++;
+            }
+            int[][] grouped = new int[keyCount][];
+            int[][] groupedWeights = weights != null ? new int[keyCount][] : null;
+            for (int key = 0; key < keyCount; key++) {
+                grouped[key] = new int[counts[key]];
+                if (groupedWeights != null) {
+                    groupedWeights[key] = new int[counts[key]];
+                }
+            }
+            int[] fill = new int[keyCount];
+            for (int i = 0; i < keys.size; i++) {
+                int key = keys.values[i];
+                int slot = fill[key]++;
+                grouped[key][slot] = values.values[i];
+                if (groupedWeights != null) {
+                    groupedWeights[key][slot] = weights.values[i];
+                }
+            }
+            return new int[][][]{grouped, groupedWeights};
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.ecommerce.related;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores every pair of products that share a tag or an order and keeps the top K per
+ * product.
+ *
+ * <p>The score adds the cosine similarity of the tag sets, the cosine similarity of
+ * the order sets and a flat bonus for the same category, each with its own weight.
+ * Only products reached through a tag or an order become candidates, so the category
+ * bonus ranks candidates but never adds new ones. Tags attached to more than
+ * {@code maxTagProducts} products are skipped. They say little about any pair, and
+ * their fan-out would dominate the run time.
+ *
+ * <p>Products are split into ranges that a fork-join pool scores in parallel. Each
+ * worker accumulates scores in a dense array and resets only the entries it touched.
+ */
+public class RelatedProductsCalculator {
+    private static final int LEAF_SIZE = 256;
+
+    private final int topK;
+    private final Weights weights;
+    private final int maxTagProducts;
+
+    public RelatedProductsCalculator(int topK, Weights weights, int maxTagProducts) {
+        if (topK <= 0) {
+            throw new IllegalArgumentException("topK must be positive");
+        }
+        this.topK = topK;
+        this.weights = weights;
+        this.maxTagProducts = maxTagProducts;
+    }
+
+    public RelatedProductsTable compute(CatalogGraph graph, ForkJoinPool pool) {
+        int[][] related = new int[graph.size()][];
+        float[][] scores = new float[graph.size()][];
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(graph.size(), topK));
+        pool.invoke(new ScoreRange(graph, related, scores, scratch, 0, graph.size()));
+        return new RelatedProductsTable(graph.productIds, related, scores);
+    }
+
+    private void score(CatalogGraph graph, int product, Scratch scratch, int[][] related, float[][] scores) {
+        float[] accumulated = scratch.scores;
+        int touched = 0;
+
+        int[] tags = graph.tagsByProduct[product];
+        if (tags.length > 0 && weights.tags() > 0) {
+            for (int tag : tags) {
+                int[] tagged = graph.productsByTag[tag];
+                if (tagged.length > maxTagProducts) {
+                    continue;
+                }
+                for (int candidate : tagged) {
+                    if (candidate != product) {
+                        if (accumulated[candidate] == 0) {
+                            scratch.touched[touched++] = candidate;
+                        }
+                        // Shared tags / sqrt(|A| * |B|), summed one shared tag at a time
+                        accumulated[candidate] += (float) (weights.tags()
+                                / Math.sqrt((double) tags.length * graph.tagsByProduct[candidate].length));
+                    }
+                }
+            }
+        }
+
+        int[] coPurchased = graph.coPurchased[product];
+        if (coPurchased.length > 0 && weights.coPurchase() > 0) {
+            int[] counts = graph.coPurchaseCounts[product];
+            for (int i = 0; i < coPurchased.length; i++) {
+                int candidate = coPurchased[i];
+                double orders = Math.sqrt((double) Math.max(graph.orderCounts[product], counts[i])
+                        * Math.max(graph.orderCounts[candidate], counts[i]));
+                if (accumulated[candidate] == 0) {
+                    scratch.touched[touched++] = candidate;
+                }
+                accumulated[candidate] += (float) (weights.coPurchase() * Math.min(1.0, counts[i] / orders));
+            }
+        }
+
+        int category = graph.categories[product];
+        TopK best = scratch.best;
+        best.clear();
+        for (int i = 0; i < touched; i++) {
+            int candidate = scratch.touched[i];
+            float score = accumulated[candidate];
+            if (category >= 0 && graph.categories[candidate] == category) {
+                score += (float) weights.sameCategory();
+            }
+            best.offer(candidate, score, graph.productIds[candidate]);
+            accumulated[candidate] = 0;
+        }
+        related[product] = best.sortedCandidates();
+        scores[product] = best.sortedScores();
+    }
+
+    /**
+     * Relative importance of each signal; a weight of zero switches the signal off.
+     */
+    public record Weights(double tags, double coPurchase, double sameCategory) {
+    }
+
+    private final class ScoreRange extends RecursiveAction {
+        private final CatalogGraph graph;
+        private final int[][] related;
+        private final float[][] scores;
+        private final ThreadLocal<Scratch> scratch;
+        private final int from;
+        private final int to;
+
+        private ScoreRange(CatalogGraph graph, int[][] related, float[][] scores, ThreadLocal<Scratch> scratch,
+                           int from, int to) {
+            this.graph = graph;
+            this.related = related;
+            this.scores = scores;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                Scratch workerScratch = scratch.get();
+                for (int product = from; product < to; product++) {
+                    score(graph, product, workerScratch, related, scores);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreRange(graph, related, scores, scratch, from, middle),
+                    new ScoreRange(graph, related, scores, scratch, middle, to));
+        }
+    }
+
+    // Per-worker buffers, sized once for the whole catalog
+    private static final class Scratch {
+        private final float[] scores;
+        private final int[] touched;
+        private final TopK best;
+
+        private Scratch(int catalogSize, int topK) {
+            this.scores = new float[catalogSize];
+            this.touched = new int[catalogSize];
+            this.best = new TopK(topK);
+        }
+    }
+
+    /**
+     * Bounded min-heap on (score, product id); ties go to the newer, higher id.
+     */
+    private static final class TopK {
+        private final int[] candidates;
+        private final float[] scores;
+        private final long[] ids;
+        private int size;
+
+        private TopK(int capacity) {
+            this.candidates = new int[capacity];
+            this.scores = new float[capacity];
+            this.ids = new long[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void offer(int candidate, float score, long id) {
+            if (size < candidates.length) {
+                set(size, candidate, score, id);
+                siftUp(size++);
+            } else if (less(0, score, id)) {
+                set(0, candidate, score, id);
+                siftDown(0);
+            }
+        }
+
+        int[] sortedCandidates() {
+            sortDescending();
+            int[] result = new int[size];
+            System.arraycopy(candidates, 0, result, 0, size);
+            return result;
+        }
+
+        float[] sortedScores() {
+            float[] result = new float[size];
+            System.arraycopy(scores, 0, result, 0, size);
+            return result;
+        }
+
+        // Heap sort in place: repeatedly move the minimum to the end
+        private void sortDescending() {
+            int heapSize = size;
+            while (heapSize > 1) {
+                swap(0, --heapSize);
+                siftDown(0, heapSize);
+            }
+        }
+
+        private boolean less(int slot, float score, long id) {
+            return scores[slot] < score || (scores[slot] == score && ids[slot] < id);
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (!less(slot, scores[parent], ids[parent])) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            siftDown(slot, size);
+        }
+
+        private void siftDown(int slot, int heapSize) {
+            while (true) {
+                int smallest = slot;
+                int left = 2 * slot + 1;
+                int right = left + 1;
+                if (left < heapSize && less(left, scores[smallest], ids[smallest])) {
+                    smallest = left;
+                }
+                if (right < heapSize && less(right, scores[smallest], ids[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == slot) {
+                    return;
+                }
+                swap(slot, smallest);
+                slot = smallest;
+            }
+        }
+
+        private void set(int slot, int candidate, float score, long id) {
+            candidates[slot] = candidate;
+            scores[slot] = score;
+            ids[slot] = id;
+        }
+
+        private void swap(int a, int b) {
+            int candidate = candidates[a];
+            float score = scores[a];
+            long id = ids[a];
+            set(a, candidates[b], scores[b], ids[b]);
+            set(b, candidate, score, id);
+        }
+    }
+}
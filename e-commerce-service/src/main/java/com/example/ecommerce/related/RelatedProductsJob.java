@@ -0,0 +1,143 @@
+package com.example.ecommerce.related;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Rebuilds {@code related_products} from tags, categories and recent orders.
+ *
+ * <p>The graph is loaded in a read-only transaction and scored outside any
+ * transaction. Only the swap, deleting the old rows and inserting the new ones, runs
+ * in a write transaction, and readers keep seeing the previous table until it
+ * commits. A transaction-scoped advisory lock taken by the swap makes sure only one
+ * node writes at a time; a node that finds it held skips its swap.
+ */
+@Slf4j
+@Component
+public class RelatedProductsJob {
+    private static final long ADVISORY_LOCK_KEY = 0x52454c4154454450L;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final int WRITE_BATCH_SIZE = 1_000;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final String ACTIVE_PRODUCTS_SQL = "SELECT id, category_id FROM products WHERE is_active";
+    private static final String PRODUCT_TAGS_SQL = "SELECT product_id, tag_id FROM product_tags";
+    private static final String PURCHASES_SQL =
+            "SELECT oi.product_id, count(DISTINCT oi.order_id) FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id WHERE o.created_at >= ? GROUP BY oi.product_id";
+    private static final String CO_PURCHASES_SQL =
+            "SELECT a.product_id, b.product_id, count(DISTINCT a.order_id) FROM order_items a " +
+            "JOIN order_items b ON b.order_id = a.order_id AND b.product_id <> a.product_id " +
+            "JOIN orders o ON o.id = a.order_id WHERE o.created_at >= ? " +
+            "GROUP BY a.product_id, b.product_id HAVING count(DISTINCT a.order_id) >= ?";
+    private static final String DELETE_SQL = "DELETE FROM related_products";
+    private static final String INSERT_SQL =
+            "INSERT INTO related_products (product_id, rank, related_product_id, score) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final RelatedProductsCalculator calculator;
+    private final int orderLookbackDays;
+    private final int minCoPurchases;
+    private final int parallelism;
+
+    public RelatedProductsJob(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${ecommerce.related.top-k:10}") int topK,
+                              @Value("${ecommerce.related.weights.tags:1.0}") double tagWeight,
+                              @Value("${ecommerce.related.weights.co-purchase:2.0}") double coPurchaseWeight,
+                              @Value("${ecommerce.related.weights.same-category:0.25}") double sameCategoryWeight,
+                              @Value("${ecommerce.related.max-tag-products:5000}") int maxTagProducts,
+                              @Value("${ecommerce.related.order-lookback-days:365}") int orderLookbackDays,
+                              @Value("${ecommerce.related.min-co-purchases:2}") int minCoPurchases,
+                              @Value("${ecommerce.related.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        // Postgres only streams with a fetch size inside a transaction
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.calculator = new RelatedProductsCalculator(topK,
+                new RelatedProductsCalculator.Weights(tagWeight, coPurchaseWeight, sameCategoryWeight), maxTagProducts);
+        this.orderLookbackDays = orderLookbackDays;
+        this.minCoPurchases = minCoPurchases;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    // An hour after the rating recompute, so the two catalog-wide jobs do not overlap
+    @Scheduled(cron = "${ecommerce.related.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        CatalogGraph graph = readOnlyTransaction.execute(status -> loadGraph());
+        RelatedProductsTable table = compute(graph);
+
+        boolean swapped = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class, ADVISORY_LOCK_KEY))) {
+                return false;
+            }
+            jdbcTemplate.update(DELETE_SQL);
+            write(table);
+            return true;
+        }));
+
+        if (!swapped) {
+            log.info("Related products table being rewritten by another node, skipped");
+        } else {
+            log.info("Rebuilt related products: {} rows in {} ms", table.rowCount(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private CatalogGraph loadGraph() {
+        CatalogGraph.Builder builder = CatalogGraph.builder();
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusDays(orderLookbackDays));
+        jdbcTemplate.query(ACTIVE_PRODUCTS_SQL, rs -> {
+            builder.addProduct(rs.getLong(1), rs.getObject(2, Long.class));
+        });
+        jdbcTemplate.query(PRODUCT_TAGS_SQL, rs -> {
+            builder.addTag(rs.getLong(1), rs.getLong(2));
+        });
+        jdbcTemplate.query(PURCHASES_SQL, rs -> {
+            builder.addPurchases(rs.getLong(1), rs.getInt(2));
+        }, since);
+        jdbcTemplate.query(CO_PURCHASES_SQL, rs -> {
+            builder.addCoPurchase(rs.getLong(1), rs.getLong(2), rs.getInt(3));
+        }, since, minCoPurchases);
+        return builder.build();
+    }
+
+    private RelatedProductsTable compute(CatalogGraph graph) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return calculator.compute(graph, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void write(RelatedProductsTable table) {
+        List<Object[]> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        table.forEachRow((productId, rank, relatedProductId, score) -> {
+            batch.add(new Object[]{productId, rank, relatedProductId, score});
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ecommerce.related;
+
+import java.util.Arrays;
+
+/**
+ * Result of a {@link RelatedProductsCalculator} run: per product, its related
+ * products best first, ready to be written to {@code related_products}.
+ */
+public final class RelatedProductsTable {
+    private final long[] productIds;
+    private final int[][] related;
+    private final float[][] scores;
+
+    RelatedProductsTable(long[] productIds, int[][] related, float[][] scores) {
+        this.productIds = productIds;
+        this.related = related;
+        this.scores = scores;
+    }
+
+    public long rowCount() {
+        return Arrays.stream(related).mapToLong(row -> row.length).sum();
+    }
+
+    /**
+     * Related product ids of one product, best first; empty for unknown products.
+     */
+    public long[] relatedIds(long productId) {
+        for (int product = 0; product < productIds.length; product++) {
+            if (productIds[product] == productId) {
+                return Arrays.stream(related[product]).mapToLong(candidate -> productIds[candidate]).toArray();
+            }
+        }
+        return new long[0];
+    }
+
+    public void forEachRow(RowConsumer consumer) {
+        for (int product = 0; product < productIds.length; product++) {
+            for (int rank = 0; rank < related[product].length; rank++) {
+                consumer.accept(productIds[product], rank, productIds[related[product][rank]], scores[product][rank]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(long productId, int rank, long relatedProductId, double score);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderStatusBatchRepository {
+
+    List<Order> findByUserId(Long userId);
+
+    @EntityGraph(Order.GRAPH_DETAIL)
+    Optional<Order> findDetailedById(Long id);
+
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    Page<Order> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Loads the items and products of orders already in the persistence context in a
+     * single query, so mapping a page of orders needs no per-order item loads.
+     */
+    @EntityGraph(Order.GRAPH_ITEMS)
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    /**
+     * Current status and version of each listed order that exists, for validating status
+     * changes before a batched, versioned write.
+     */
+    @Query("select new com.example.ecommerce.repository.OrderStatusVersion(o.id, o.status, o.version) " +
+           "from Order o where o.id in :ids order by o.id")
+    List<OrderStatusVersion> findStatusVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Orders strictly after the given keyset position, newest first. Returns a plain list,
+     * so no count query is issued; pass a {@code Pageable} only to cap the row count.
+     * The position is a row-value comparison, which Postgres turns into a range bound on
+     * idx_orders_user_created_id instead of filtering every newer row.
+     */
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    @Query("select o from Order o where o.user.id = :userId " +
+           "and (o.createdAt, o.id) < (:createdAt, :id) " +
+           "order by o.createdAt desc, o.id desc")
+    List<Order> findKeysetPageByUserId(@Param("userId") Long userId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable limit);
+}
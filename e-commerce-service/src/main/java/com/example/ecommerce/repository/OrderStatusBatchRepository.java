@@ -0,0 +1,29 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.OrderStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderStatusBatchRepository {
+
+    /**
+     * Moves every listed order currently in one of {@code status.previousStatuses()} to
+     * {@code status} in a single UPDATE, bumping the version and locking rows in id order.
+     * The ids bind as one array, so there is no limit on how many are passed. Returns the
+     * ids actually updated; orders that are missing or in any other status are left
+     * untouched. Writes straight to the table, so entities already loaded are not refreshed.
+     */
+    List<Long> updateStatusWhereAllowed(Collection<Long> ids, OrderStatus status);
+
+    /**
+     * Applies every change in one JDBC batch, each only if the order still has the
+     * expected version. Pass the changes in id order, so concurrent batches lock rows in
+     * the same order. Returns the affected row count per change; a zero means the order
+     * was changed or deleted since its version was read.
+     */
+    int[] updateStatusBatch(List<StatusChange> changes);
+
+    record StatusChange(Long id, Long expectedVersion, OrderStatus status) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+class OrderStatusBatchRepositoryImpl implements OrderStatusBatchRepository {
+    // Arrays bind as two parameters however many ids there are; the locking subquery takes
+    // row locks in id order, so concurrent bulk updates cannot deadlock on each other
+    private static final String UPDATE_STATUS_SQL =
+            "WITH locked AS (SELECT id FROM orders WHERE id = ANY(?) AND status = ANY(?) ORDER BY id FOR UPDATE) " +
+            "UPDATE orders o SET status = ?, version = o.version + 1, updated_at = now(), " +
+            "completed_at = CASE WHEN ? THEN now() ELSE o.completed_at END " +
+            "FROM locked WHERE o.id = locked.id " +
+            "RETURNING o.id";
+    private static final String UPDATE_STATUS_IF_VERSION_SQL =
+            "UPDATE orders SET status = ?, version = version + 1, updated_at = now(), " +
+            "completed_at = CASE WHEN ? THEN now() ELSE completed_at END " +
+            "WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> updateStatusWhereAllowed(Collection<Long> ids, OrderStatus status) {
+        if (ids.isEmpty() || status.previousStatuses().isEmpty()) {
+            return List.of();
+        }
+        Long[] idArray = ids.toArray(Long[]::new);
+        String[] previousStatuses = status.previousStatuses().stream().map(Enum::name).toArray(String[]::new);
+        return jdbcTemplate.queryForList(UPDATE_STATUS_SQL, Long.class,
+                idArray, previousStatuses, status.name(), status.marksCompletion());
+    }
+
+    @Override
+    public int[] updateStatusBatch(List<StatusChange> changes) {
+        List<Object[]> batchArgs = new ArrayList<>(changes.size());
+        for (StatusChange change : changes) {
+            batchArgs.add(new Object[]{change.status().name(), change.status().marksCompletion(),
+                change.id(), change.expectedVersion()});
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_STATUS_IF_VERSION_SQL, batchArgs);
+    }
+}
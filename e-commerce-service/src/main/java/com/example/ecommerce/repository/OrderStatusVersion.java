@@ -0,0 +1,9 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.OrderStatus;
+
+/**
+ * Current status and version of an order, read without loading the entity.
+ */
+public record OrderStatusVersion(Long id, OrderStatus status, Long version) {
+}
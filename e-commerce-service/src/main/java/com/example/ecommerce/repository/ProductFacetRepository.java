@@ -0,0 +1,24 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductFilter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductFacetRepository {
+
+    /**
+     * Counts the active products matching the filter in total, per category, per tag
+     * and per price bucket, in a single grouped query. {@code priceBounds} are the
+     * strictly ascending lower bounds of the price buckets and may be empty.
+     */
+    ProductFacets countFacets(ProductFilter filter, List<BigDecimal> priceBounds);
+
+    /**
+     * Counts active products per price bucket in a single grouped query. Bucket
+     * {@code i} holds prices in {@code [b(i), b(i+1))} and the last one is open above,
+     * as in {@code ProductPriceIndex.histogram}. {@code lowerBounds} must not be empty.
+     */
+    int[] countPriceHistogram(List<BigDecimal> lowerBounds);
+}
@@ -0,0 +1,139 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@RequiredArgsConstructor
+class ProductFacetRepositoryImpl implements ProductFacetRepository {
+    // The tag join repeats a product once per tag, hence count(DISTINCT) in every grouping set
+    private static final String FACETS_SQL =
+            "WITH matched AS (SELECT p.id, p.category_id, %s AS price_bucket FROM products p WHERE %s) " +
+            "SELECT GROUPING(m.category_id) AS by_category, GROUPING(t.name) AS by_tag, " +
+            "GROUPING(m.price_bucket) AS by_price, m.category_id, t.name AS tag, m.price_bucket, " +
+            "count(DISTINCT m.id) AS products " +
+            "FROM matched m " +
+            "LEFT JOIN product_tags pt ON pt.product_id = m.id " +
+            "LEFT JOIN tags t ON t.id = pt.tag_id " +
+            "GROUP BY GROUPING SETS ((), (m.category_id), (t.name), (m.price_bucket))";
+    private static final String PRICE_HISTOGRAM_SQL =
+            "SELECT %s AS price_bucket, count(*) AS products FROM products p " +
+            "WHERE p.is_active AND p.price >= :bound0 GROUP BY 1";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public ProductFacets countFacets(ProductFilter filter, List<BigDecimal> priceBounds) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = String.format(FACETS_SQL, priceBucket(priceBounds, params), where(filter, params));
+
+        long[] total = new long[1];
+        Map<Long, Long> categories = new LinkedHashMap<>();
+        Map<String, Long> tags = new LinkedHashMap<>();
+        long[] bucketCounts = new long[priceBounds.size()];
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            long products = rs.getLong("products");
+            boolean byCategory = rs.getInt("by_category") == 0;
+            boolean byTag = rs.getInt("by_tag") == 0;
+            boolean byPrice = rs.getInt("by_price") == 0;
+            if (byCategory) {
+                Long categoryId = rs.getObject("category_id", Long.class);
+                if (categoryId != null) {
+                    categories.put(categoryId, products);
+                }
+            } else if (byTag) {
+                String tag = rs.getString("tag");
+                if (tag != null) {
+                    tags.put(tag, products);
+                }
+            } else if (byPrice) {
+                // width_bucket: 0 below the first bound, i for [bound(i-1), bound(i))
+                int bucket = rs.getInt("price_bucket");
+                if (!rs.wasNull() && bucket > 0) {
+                    bucketCounts[bucket - 1] = products;
+                }
+            } else {
+                total[0] = products;
+            }
+        });
+
+        List<ProductFacets.PriceBucket> priceBuckets = new ArrayList<>(priceBounds.size());
+        for (int i = 0; i < priceBounds.size(); i++) {
+            BigDecimal to = i + 1 < priceBounds.size() ? priceBounds.get(i + 1) : null;
+            priceBuckets.add(new ProductFacets.PriceBucket(priceBounds.get(i), to, bucketCounts[i]));
+        }
+        return new ProductFacets(total[0], categories, tags, priceBuckets);
+    }
+
+    @Override
+    public int[] countPriceHistogram(List<BigDecimal> lowerBounds) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = String.format(PRICE_HISTOGRAM_SQL, priceBucket(lowerBounds, params));
+
+        int[] counts = new int[lowerBounds.size()];
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            // Prices below the first bound are filtered out, so every bucket is >= 1
+            counts[rs.getInt("price_bucket") - 1] = rs.getInt("products");
+        });
+        return counts;
+    }
+
+    private static String priceBucket(List<BigDecimal> priceBounds, MapSqlParameterSource params) {
+        if (priceBounds.isEmpty()) {
+            return "CAST(NULL AS INTEGER)";
+        }
+        StringJoiner bounds = new StringJoiner(", ", "width_bucket(p.price, ARRAY[", "]::numeric[])");
+        for (int i = 0; i < priceBounds.size(); i++) {
+            params.addValue("bound" + i, priceBounds.get(i));
+            bounds.add(":bound" + i);
+        }
+        return bounds.toString();
+    }
+
+    // Same criteria as ProductSpecifications.matching, in SQL
+    private static String where(ProductFilter filter, MapSqlParameterSource params) {
+        StringJoiner where = new StringJoiner(" AND ");
+        where.add("p.is_active");
+        if (filter.categoryId() != null) {
+            where.add("p.category_id = :categoryId");
+            params.addValue("categoryId", filter.categoryId());
+        }
+        if (filter.minPrice() != null) {
+            where.add("p.price >= :minPrice");
+            params.addValue("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            where.add("p.price <= :maxPrice");
+            params.addValue("maxPrice", filter.maxPrice());
+        }
+        if (filter.inStockOnly()) {
+            where.add("p.stock_quantity > 0");
+        }
+        if (filter.minRating() != null) {
+            where.add("p.average_rating >= :minRating");
+            params.addValue("minRating", filter.minRating());
+        }
+        if (filter.hasTags()) {
+            int index = 0;
+            for (String tag : filter.tags()) {
+                if (tag != null && !tag.isBlank()) {
+                    String name = "tag" + index++;
+                    where.add("EXISTS (SELECT 1 FROM product_tags fpt JOIN tags ft ON ft.id = fpt.tag_id " +
+                            "WHERE fpt.product_id = p.id AND lower(ft.name) = :" + name + ")");
+                    params.addValue(name, tag.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return where.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductStockBatchRepository, ProductFacetRepository {
+
+    Page<Product> findByNameContainingOrDescriptionContainingAllIgnoreCase(String name, String description, Pageable pageable);
+
+    List<Product> findByFeaturedTrueAndActiveTrueOrderByCreatedAtDescIdDesc();
+
+    /**
+     * Full-text search over {@code search_vector}, best match first. The query accepts
+     * web search syntax (quoted phrases, {@code or}, {@code -exclusion}). Ordering is
+     * fixed, so pass an unsorted pageable.
+     */
+    @Query(value = "SELECT p.* FROM products p, websearch_to_tsquery('english', :query) q " +
+           "WHERE p.search_vector @@ q " +
+           "ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC",
+           countQuery = "SELECT count(*) FROM products p " +
+           "WHERE p.search_vector @@ websearch_to_tsquery('english', :query)",
+           nativeQuery = true)
+    Page<Product> searchFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Keyset counterpart of the name/description search, newest first. An empty query
+     * matches every product; {@code %}, {@code _} and {@code \} in the query must be
+     * escaped with {@code \}. The position is a row-value comparison, so it bounds the scan
+     * of idx_products_created_id instead of filtering every newer row.
+     */
+    @Query("select p from Product p " +
+           "where (lower(p.name) like lower(concat('%', :query, '%')) escape '\\' " +
+           "or lower(p.description) like lower(concat('%', :query, '%')) escape '\\') " +
+           "and (p.createdAt, p.id) < (:createdAt, :id) " +
+           "order by p.createdAt desc, p.id desc")
+    List<Product> searchKeysetPage(@Param("query") String query,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable limit);
+
+    /**
+     * Precomputed related products of one product, best first, from the table
+     * RelatedProductsJob rebuilds. Products deactivated since the last rebuild are left out.
+     */
+    @Query(value = "SELECT p.* FROM related_products r JOIN products p ON p.id = r.related_product_id " +
+           "WHERE r.product_id = :id AND p.is_active ORDER BY r.rank",
+           nativeQuery = true)
+    List<Product> findRelatedProducts(@Param("id") Long id);
+
+    @Query("select p.stockQuantity from Product p where p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1 " +
+           "where p.id = :id and p.stockQuantity >= :quantity")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :quantity, p.version = p.version + 1 " +
+           "where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products p SET rating_sum = s.rating_sum, total_reviews = s.review_count, " +
+           "average_rating = CASE WHEN s.review_count = 0 THEN 0 " +
+           "ELSE CAST(s.rating_sum AS DOUBLE PRECISION) / s.review_count END, " +
+           "version = p.version + 1 " +
+           "FROM (SELECT pr.id AS product_id, COUNT(r.id) AS review_count, COALESCE(SUM(r.rating), 0) AS rating_sum " +
+           "      FROM products pr LEFT JOIN product_reviews r ON r.product_id = pr.id " +
+           "      WHERE pr.id = :id GROUP BY pr.id) s " +
+           "WHERE p.id = s.product_id", nativeQuery = true)
+    int recomputeRatingAggregates(@Param("id") Long id);
+
+    /**
+     * Rebuilds rating_sum, total_reviews and average_rating for the whole catalog in one
+     * set-based statement, touching only rows whose aggregates have drifted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE products p SET rating_sum = s.rating_sum, total_reviews = s.review_count, " +
+           "average_rating = CASE WHEN s.review_count = 0 THEN 0 " +
+           "ELSE CAST(s.rating_sum AS DOUBLE PRECISION) / s.review_count END, " +
+           "version = p.version + 1 " +
+           "FROM (SELECT pr.id AS product_id, COUNT(r.id) AS review_count, COALESCE(SUM(r.rating), 0) AS rating_sum " +
+           "      FROM products pr LEFT JOIN product_reviews r ON r.product_id = pr.id " +
+           "      GROUP BY pr.id) s " +
+           "WHERE p.id = s.product_id " +
+           "AND (p.rating_sum IS DISTINCT FROM s.rating_sum OR p.total_reviews IS DISTINCT FROM s.review_count)",
+           nativeQuery = true)
+    int recomputeAllRatingAggregates();
+}
@@ -0,0 +1,60 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.ProductFilter;
+import com.example.ecommerce.model.Product;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria for {@link ProductFilter}. Predicates are laid out to match the partial
+ * indexes of V8: {@code is_active} first, then category and price.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("active")));
+            if (filter.categoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), filter.categoryId()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (filter.inStockOnly()) {
+                predicates.add(cb.greaterThan(root.get("stockQuantity"), 0));
+            }
+            if (filter.minRating() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("averageRating"), filter.minRating()));
+            }
+            if (filter.hasTags()) {
+                // One EXISTS per tag rather than a join, so a product never comes back twice
+                for (String tag : filter.tags()) {
+                    if (tag != null && !tag.isBlank()) {
+                        Subquery<Long> tagged = query.subquery(Long.class);
+                        Root<Product> sameProduct = tagged.from(Product.class);
+                        Join<Product, ?> tags = sameProduct.join("tags");
+                        tagged.select(sameProduct.get("id")).where(
+                                cb.equal(sameProduct, root),
+                                cb.equal(cb.lower(tags.get("name")), tag.trim().toLowerCase(Locale.ROOT)));
+                        predicates.add(cb.exists(tagged));
+                    }
+                }
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ecommerce.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+
+public interface ProductStockBatchRepository {
+
+    /**
+     * Conditionally decrements stock for every entry in one JDBC batch, in key order.
+     * Returns the affected row count per entry; a zero means the product is missing
+     * or did not have enough stock.
+     */
+    int[] decrementStockBatch(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Current stock of each existing product in one query, keyed by product id.
+     */
+    Map<Long, Integer> findStockQuantities(Collection<Long> productIds);
+}
@@ -0,0 +1,41 @@
+package com.example.ecommerce.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@RequiredArgsConstructor
+class ProductStockBatchRepositoryImpl implements ProductStockBatchRepository {
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, version = version + 1 " +
+            "WHERE id = ? AND stock_quantity >= ?";
+    private static final String STOCK_QUANTITIES_SQL =
+            "SELECT id, stock_quantity FROM products WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] decrementStockBatch(SortedMap<Long, Integer> quantities) {
+        List<Object[]> batchArgs = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> batchArgs.add(new Object[]{quantity, productId, quantity}));
+        return jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, batchArgs);
+    }
+
+    @Override
+    public Map<Long, Integer> findStockQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> stockQuantities = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return stockQuantities;
+        }
+        jdbcTemplate.query(STOCK_QUANTITIES_SQL, rs -> {
+            stockQuantities.put(rs.getLong(1), rs.getInt(2));
+        }, (Object) productIds.toArray(Long[]::new));
+        return stockQuantities;
+    }
+}
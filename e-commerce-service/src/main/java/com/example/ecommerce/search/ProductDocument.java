@@ -0,0 +1,57 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.model.Product;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+/**
+ * Search index view of a product. The index is created by {@link ProductSearchIndexer}
+ * rather than at startup, so the application starts even when Elasticsearch is down.
+ */
+@Data
+@Document(indexName = "products", createIndex = false)
+public class ProductDocument {
+    @Id
+    private Long id;
+
+    @Field(type = FieldType.Text, analyzer = "english")
+    private String name;
+
+    @Field(type = FieldType.Text, analyzer = "english")
+    private String description;
+
+    @Field(type = FieldType.Double)
+    private Double price;
+
+    @Field(type = FieldType.Long)
+    private Long categoryId;
+
+    @Field(type = FieldType.Double)
+    private Double averageRating;
+
+    @Field(type = FieldType.Boolean)
+    private boolean featured;
+
+    @Field(type = FieldType.Boolean)
+    private boolean active;
+
+    @Field(type = FieldType.Boolean)
+    private boolean inStock;
+
+    public static ProductDocument fromProduct(Product product) {
+        ProductDocument document = new ProductDocument();
+        document.setId(product.getId());
+        document.setName(product.getName());
+        document.setDescription(product.getDescription());
+        document.setPrice(product.getPrice().doubleValue());
+        document.setCategoryId(product.getCategory() != null ? product.getCategory().getId() : null);
+        document.setAverageRating(product.getAverageRating());
+        document.setFeatured(product.isFeatured());
+        document.setActive(product.isActive());
+        document.setInStock(product.getStockQuantity() > 0);
+        return document;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.event.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory postings from a string key to a compressed bitmap of active product ids,
+ * kept current incrementally.
+ *
+ * <p>The postings are built from the database once the application is ready. After
+ * that, committed product changes mark ids as dirty, and {@link #refresh()} reloads
+ * them in one batch: the dirty ids are removed from every posting and the reloaded
+ * postings merged back in. Subclasses schedule the refresh and decide which rows make
+ * up the postings. Product ids are stored as ints, and larger ids are skipped.
+ *
+ * @param <M> the postings map; sorted when the keys are range-scanned
+ */
+@Slf4j
+abstract class ProductPostingsIndex<M extends Map<String, RoaringBitmap>> {
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final String name;
+    private final Supplier<M> postingsFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<Long> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private M postings;
+    private volatile boolean loaded;
+
+    protected ProductPostingsIndex(String name, Supplier<M> postingsFactory,
+                                   DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.name = name;
+        this.postingsFactory = postingsFactory;
+        this.postings = postingsFactory.get();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Postgres only streams with a fetch size inside a transaction
+        this.jdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Adds the postings of every active product to {@code target}.
+     */
+    protected abstract void loadAll(JdbcTemplate jdbcTemplate, Map<String, RoaringBitmap> target);
+
+    /**
+     * Adds the postings of the products in the {@code ids} parameter that are still
+     * active to {@code target}.
+     */
+    protected abstract void loadProducts(NamedParameterJdbcTemplate jdbcTemplate, MapSqlParameterSource ids,
+                                         Map<String, RoaringBitmap> target);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        M rebuilt = postingsFactory.get();
+        readOnlyTransaction.executeWithoutResult(status -> loadAll(jdbcTemplate, rebuilt));
+        rebuilt.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            postings = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loaded = true;
+        log.info("Built product {} index with {} keys in {} ms", name, rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        dirtyProductIds.add(event.getProductId());
+    }
+
+    public void refresh() {
+        if (!loaded) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>();
+        for (Iterator<Long> iterator = dirtyProductIds.iterator(); iterator.hasNext(); ) {
+            productIds.add(iterator.next());
+            iterator.remove();
+        }
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        M current = postingsFactory.get();
+        try {
+            loadProducts(namedParameterJdbcTemplate, new MapSqlParameterSource("ids", productIds), current);
+        } catch (RuntimeException e) {
+            dirtyProductIds.addAll(productIds);
+            log.warn("Failed to reload {} products for the {} index, retrying on next refresh", productIds.size(), name, e);
+            return;
+        }
+        replace(productIds, current);
+    }
+
+    public long sizeInBytes() {
+        return read(current -> current.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum());
+    }
+
+    /**
+     * Runs {@code reader} under the read lock. It must not hand out a stored posting,
+     * since refresh mutates them in place.
+     */
+    protected final <T> T read(Function<M, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(postings);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void replace(List<Long> productIds, Map<String, RoaringBitmap> current) {
+        RoaringBitmap dirty = new RoaringBitmap();
+        productIds.forEach(id -> {
+            if (fitsInt(id)) {
+                dirty.add(id.intValue());
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            // One pass over the keys per refresh, however many products changed
+            for (Iterator<RoaringBitmap> iterator = postings.values().iterator(); iterator.hasNext(); ) {
+                RoaringBitmap bitmap = iterator.next();
+                bitmap.andNot(dirty);
+                if (bitmap.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            current.forEach((key, bitmap) -> postings.merge(key, bitmap, (existing, added) -> {
+                existing.or(added);
+                return existing;
+            }));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static boolean fitsInt(long productId) {
+        return productId >= 0 && productId <= Integer.MAX_VALUE;
+    }
+}
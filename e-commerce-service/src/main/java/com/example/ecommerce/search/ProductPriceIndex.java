@@ -0,0 +1,145 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.event.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Prices of all active products as a sorted array of cents, for price facet counts
+ * without a query: the number of prices in a range is the distance between two
+ * binary searches.
+ *
+ * <p>A sorted array cannot be patched cheaply, so committed product changes only mark
+ * it stale and a scheduled check rebuilds it whole and swaps it in.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ecommerce.catalog.price-index.enabled", havingValue = "true")
+public class ProductPriceIndex {
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final String ACTIVE_PRICES_SQL = "SELECT price FROM products WHERE is_active";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile long[] sortedCents = new long[0];
+    private volatile boolean stale = true;
+
+    public ProductPriceIndex(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        stale = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ecommerce.catalog.price-index.refresh-interval-ms:5000}")
+    public void rebuildIfStale() {
+        if (!stale) {
+            return;
+        }
+        stale = false;
+        PriceBuffer prices = new PriceBuffer();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(ACTIVE_PRICES_SQL, rs -> {
+                prices.add(toCents(rs.getBigDecimal(1)));
+            }));
+        } catch (RuntimeException e) {
+            stale = true;
+            log.warn("Failed to rebuild product price index, retrying on next check", e);
+            return;
+        }
+        sortedCents = prices.sorted();
+    }
+
+    public int size() {
+        return sortedCents.length;
+    }
+
+    /**
+     * Active products priced within {@code [min, max]}; a null bound is open.
+     */
+    public int count(BigDecimal min, BigDecimal max) {
+        return countCents(sortedCents, min != null ? toCents(min) : Long.MIN_VALUE, max != null ? toCents(max) : Long.MAX_VALUE);
+    }
+
+    /**
+     * Counts per bucket for ascending bucket bounds {@code b0 < b1 < ... < bn}: bucket
+     * {@code i} holds prices in {@code [b(i), b(i+1))}, and the last bucket is open above.
+     */
+    public int[] histogram(BigDecimal... lowerBounds) {
+        long[] prices = sortedCents;
+        int[] counts = new int[lowerBounds.length];
+        int previous = lowerIndex(prices, toCents(lowerBounds[0]));
+        for (int i = 0; i < lowerBounds.length; i++) {
+            int next = i + 1 < lowerBounds.length ? lowerIndex(prices, toCents(lowerBounds[i + 1])) : prices.length;
+            counts[i] = next - previous;
+            previous = next;
+        }
+        return counts;
+    }
+
+    static int countCents(long[] sortedCents, long minCents, long maxCents) {
+        if (minCents > maxCents) {
+            return 0;
+        }
+        int from = lowerIndex(sortedCents, minCents);
+        int to = maxCents == Long.MAX_VALUE ? sortedCents.length : lowerIndex(sortedCents, maxCents + 1);
+        return to - from;
+    }
+
+    // Index of the first element >= cents
+    private static int lowerIndex(long[] sortedCents, long cents) {
+        int low = 0;
+        int high = sortedCents.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedCents[middle] < cents) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static final class PriceBuffer {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long cents) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = cents;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.parallelSort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.event.ProductStockDeltaEvent;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the product search index in step with the database.
+ *
+ * <p>Committed product changes and coalesced stock deltas only mark the product as
+ * dirty. A scheduled flush reloads dirty products and writes them to the index in
+ * one bulk request, so indexing never adds latency to the write path. Ids whose
+ * flush fails stay dirty and are retried on the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+    private static final int REINDEX_PAGE_SIZE = 500;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ProductRepository productRepository;
+    private final Set<Long> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean indexReady;
+
+    @Value("${ecommerce.search.reindex-on-startup:false}")
+    private boolean reindexOnStartup;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        dirtyProductIds.add(event.getProductId());
+    }
+
+    @EventListener
+    public void onStockDelta(ProductStockDeltaEvent event) {
+        dirtyProductIds.add(event.getProductId());
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.search.index-interval-ms:1000}")
+    public void flush() {
+        List<Long> productIds = new ArrayList<>();
+        // Remove one by one so an id marked dirty again during the flush is kept for the next run
+        for (Iterator<Long> iterator = dirtyProductIds.iterator(); iterator.hasNext(); ) {
+            productIds.add(iterator.next());
+            iterator.remove();
+        }
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            index(productIds);
+        } catch (RuntimeException e) {
+            dirtyProductIds.addAll(productIds);
+            log.warn("Failed to index {} products, retrying on next flush", productIds.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexOnStartup() {
+        if (reindexOnStartup) {
+            reindexAll();
+        }
+    }
+
+    public void reindexAll() {
+        ensureIndex();
+        Pageable pageable = PageRequest.of(0, REINDEX_PAGE_SIZE);
+        Page<Product> page;
+        do {
+            page = productRepository.findAll(pageable);
+            if (page.hasContent()) {
+                elasticsearchOperations.save(page.map(ProductDocument::fromProduct).getContent());
+            }
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+        log.info("Reindexed {} products", page.getTotalElements());
+    }
+
+    private void index(List<Long> productIds) {
+        ensureIndex();
+        List<Product> products = productRepository.findAllById(productIds);
+        if (!products.isEmpty()) {
+            elasticsearchOperations.save(products.stream().map(ProductDocument::fromProduct).toList());
+        }
+
+        Set<Long> deletedIds = new HashSet<>(productIds);
+        products.forEach(product -> deletedIds.remove(product.getId()));
+        deletedIds.forEach(id -> elasticsearchOperations.delete(String.valueOf(id), ProductDocument.class));
+    }
+
+    private void ensureIndex() {
+        if (!indexReady) {
+            IndexOperations indexOperations = elasticsearchOperations.indexOps(ProductDocument.class);
+            if (!indexOperations.exists()) {
+                indexOperations.createWithMapping();
+            }
+            indexReady = true;
+        }
+    }
+}
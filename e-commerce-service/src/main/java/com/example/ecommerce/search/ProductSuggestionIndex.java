@@ -0,0 +1,171 @@
+package com.example.ecommerce.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index for typeahead over the words in active product names and
+ * tags.
+ *
+ * <p>Each distinct lower-cased word maps to a compressed bitmap of the product ids
+ * that contain it, and the words are kept sorted so a prefix is a range scan. A
+ * query matches a product when every query word is a prefix of one of its words.
+ * Matches come back newest product first. The display name of every indexed product
+ * is kept alongside, so a suggestion needs no lookup of its own.
+ *
+ * <p>Kept current as described in {@link ProductPostingsIndex}, names included. Stock
+ * changes do not affect names, tags or the active flag, so stock events are not tracked.
+ */
+@Slf4j
+@Component
+public class ProductSuggestionIndex extends ProductPostingsIndex<TreeMap<String, RoaringBitmap>> {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String ACTIVE_NAMES_SQL = "SELECT id, name FROM products WHERE is_active";
+    private static final String ACTIVE_TAGS_SQL =
+            "SELECT pt.product_id, t.name FROM product_tags pt " +
+            "JOIN tags t ON t.id = pt.tag_id " +
+            "JOIN products p ON p.id = pt.product_id WHERE p.is_active";
+    private static final String ACTIVE_NAMES_BY_ID_SQL =
+            "SELECT id, name FROM products WHERE is_active AND id IN (:ids)";
+    private static final String ACTIVE_TAGS_BY_ID_SQL = ACTIVE_TAGS_SQL + " AND p.id IN (:ids)";
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    public ProductSuggestionIndex(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        super("suggestion", TreeMap::new, dataSource, transactionManager);
+    }
+
+    @Override
+    protected void loadAll(JdbcTemplate jdbcTemplate, Map<String, RoaringBitmap> target) {
+        Map<Long, String> loadedNames = new HashMap<>();
+        jdbcTemplate.query(ACTIVE_NAMES_SQL, rs -> {
+            add(target, rs.getLong(1), rs.getString(2));
+            loadedNames.put(rs.getLong(1), rs.getString(2));
+        });
+        jdbcTemplate.query(ACTIVE_TAGS_SQL, rs -> {
+            add(target, rs.getLong(1), rs.getString(2));
+        });
+        names.keySet().retainAll(loadedNames.keySet());
+        names.putAll(loadedNames);
+    }
+
+    @Override
+    protected void loadProducts(NamedParameterJdbcTemplate jdbcTemplate, MapSqlParameterSource ids,
+                                Map<String, RoaringBitmap> target) {
+        Map<Long, String> loadedNames = new HashMap<>();
+        jdbcTemplate.query(ACTIVE_NAMES_BY_ID_SQL, ids, rs -> {
+            add(target, rs.getLong(1), rs.getString(2));
+            loadedNames.put(rs.getLong(1), rs.getString(2));
+        });
+        jdbcTemplate.query(ACTIVE_TAGS_BY_ID_SQL, ids, rs -> {
+            add(target, rs.getLong(1), rs.getString(2));
+        });
+        replaceNames((Collection<?>) ids.getValue("ids"), loadedNames);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ecommerce.search.suggest.refresh-interval-ms:1000}")
+    public void refresh() {
+        super.refresh();
+    }
+
+    /**
+     * Ids of active products matching every word of the query as a prefix, newest
+     * first.
+     */
+    public List<Long> suggest(String query, int limit) {
+        String[] words = words(query);
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        RoaringBitmap matches = read(postings -> {
+            RoaringBitmap matched = null;
+            for (String word : words) {
+                RoaringBitmap wordMatches = prefixMatches(postings, word);
+                matched = matched == null ? wordMatches : RoaringBitmap.and(matched, wordMatches);
+                if (matched.isEmpty()) {
+                    break;
+                }
+            }
+            return matched;
+        });
+
+        List<Long> productIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        IntIterator newestFirst = matches.getReverseIntIterator();
+        while (newestFirst.hasNext() && productIds.size() < limit) {
+            productIds.add((long) newestFirst.next());
+        }
+        return productIds;
+    }
+
+    /**
+     * Display name of an indexed product, or null when the product is not indexed.
+     */
+    public String name(long productId) {
+        return names.get(productId);
+    }
+
+    public int wordCount() {
+        return read(Map::size);
+    }
+
+    // Products missing from the reload are no longer active; renamed ones never lose their name
+    void replaceNames(Collection<?> productIds, Map<Long, String> reloaded) {
+        for (Object productId : productIds) {
+            String name = reloaded.get(productId);
+            if (name == null) {
+                names.remove(productId);
+            } else {
+                names.put((Long) productId, name);
+            }
+        }
+    }
+
+    // The returned bitmap is never one of the stored postings
+    private static RoaringBitmap prefixMatches(TreeMap<String, RoaringBitmap> postings, String prefix) {
+        NavigableMap<String, RoaringBitmap> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        return range.isEmpty() ? new RoaringBitmap() : FastAggregation.or(range.values().iterator());
+    }
+
+    static void add(Map<String, RoaringBitmap> target, long productId, String text) {
+        if (!fitsInt(productId)) {
+            log.warn("Product id {} is out of range for the suggestion index", productId);
+            return;
+        }
+        for (String word : words(text)) {
+            target.computeIfAbsent(word, w -> new RoaringBitmap()).add((int) productId);
+        }
+    }
+
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return WORD_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
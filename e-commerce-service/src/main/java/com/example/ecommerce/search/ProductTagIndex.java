@@ -0,0 +1,130 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.service.TagMatch;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory tag filter: each tag name, compared case-insensitively, maps to a
+ * compressed bitmap of the active products that carry it. Multi-tag filters are
+ * bitmap intersections or unions and never touch the database. Only the requested
+ * page of ids is read back, newest product first.
+ *
+ * <p>Kept current as described in {@link ProductPostingsIndex}.
+ */
+@Slf4j
+@Component
+public class ProductTagIndex extends ProductPostingsIndex<HashMap<String, RoaringBitmap>> {
+    private static final String ACTIVE_TAGS_SQL =
+            "SELECT pt.product_id, t.name FROM product_tags pt " +
+            "JOIN tags t ON t.id = pt.tag_id " +
+            "JOIN products p ON p.id = pt.product_id WHERE p.is_active";
+    private static final String ACTIVE_TAGS_BY_ID_SQL = ACTIVE_TAGS_SQL + " AND p.id IN (:ids)";
+
+    public ProductTagIndex(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        super("tag", HashMap::new, dataSource, transactionManager);
+    }
+
+    @Override
+    protected void loadAll(JdbcTemplate jdbcTemplate, Map<String, RoaringBitmap> target) {
+        jdbcTemplate.query(ACTIVE_TAGS_SQL, rs -> {
+            add(target, rs.getLong(1), rs.getString(2));
+        });
+    }
+
+    @Override
+    protected void loadProducts(NamedParameterJdbcTemplate jdbcTemplate, MapSqlParameterSource ids,
+                                Map<String, RoaringBitmap> target) {
+        jdbcTemplate.query(ACTIVE_TAGS_BY_ID_SQL, ids, rs -> {
+            add(target, rs.getLong(1), rs.getString(2));
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${ecommerce.search.tags.refresh-interval-ms:1000}")
+    public void refresh() {
+        super.refresh();
+    }
+
+    /**
+     * Active products carrying every tag ({@link TagMatch#ALL}) or at least one of them
+     * ({@link TagMatch#ANY}). Blank tags are ignored; no tags at all match nothing.
+     */
+    public RoaringBitmap match(Collection<String> tags, TagMatch match) {
+        List<String> names = tags.stream()
+                .filter(Objects::nonNull)
+                .map(ProductTagIndex::normalize)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        if (names.isEmpty()) {
+            return new RoaringBitmap();
+        }
+
+        return read(productsByTag -> {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(names.size());
+            for (String name : names) {
+                RoaringBitmap bitmap = productsByTag.get(name);
+                if (bitmap == null) {
+                    if (match == TagMatch.ALL) {
+                        return new RoaringBitmap();
+                    }
+                } else {
+                    bitmaps.add(bitmap);
+                }
+            }
+            if (bitmaps.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            // Copy a single bitmap so callers never hold a posting that refresh mutates
+            if (bitmaps.size() == 1) {
+                return bitmaps.get(0).clone();
+            }
+            return match == TagMatch.ALL
+                    ? FastAggregation.and(bitmaps.iterator())
+                    : FastAggregation.or(bitmaps.iterator());
+        });
+    }
+
+    /**
+     * One page of matches, newest product (highest id) first.
+     */
+    public static List<Long> page(RoaringBitmap matches, long offset, int size) {
+        int cardinality = matches.getCardinality();
+        List<Long> productIds = new ArrayList<>(size);
+        for (long rank = offset; rank < cardinality && productIds.size() < size; rank++) {
+            productIds.add(Integer.toUnsignedLong(matches.select(cardinality - 1 - (int) rank)));
+        }
+        return productIds;
+    }
+
+    static void add(Map<String, RoaringBitmap> target, long productId, String tag) {
+        if (!fitsInt(productId)) {
+            log.warn("Product id {} is out of range for the tag index", productId);
+            return;
+        }
+        if (tag != null && !tag.isBlank()) {
+            target.computeIfAbsent(normalize(tag), name -> new RoaringBitmap()).add((int) productId);
+        }
+    }
+
+    private static String normalize(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPage;
 import com.example.ecommerce.dto.OrderRequest;
 import com.example.ecommerce.model.Order;
 import com.example.ecommerce.model.OrderStatus;
@@ -7,14 +8,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface OrderService {
     Order createOrder(OrderRequest orderRequest);
     Optional<Order> getOrder(Long id);
     Order updateOrderStatus(Long id, OrderStatus status);
+
+    /**
+     * Moves every listed order that may enter {@code status} from its current status, in
+     * one transaction and one UPDATE. Returns the ids updated; the others are skipped.
+     */
+    List<Long> updateOrderStatus(List<Long> ids, OrderStatus status);
+
+    /**
+     * Applies a status change per order in one transaction, validating each transition
+     * in memory and writing in versioned JDBC batches. Returns the outcome per id, in the
+     * order given; orders not updated are left unchanged.
+     */
+    Map<Long, StatusUpdateOutcome> updateOrderStatuses(Map<Long, OrderStatus> statuses);
     boolean cancelOrder(Long id);
     Page<Order> getUserOrders(Long userId, Pageable pageable);
+    CursorPage<Order> getUserOrders(Long userId, String cursor, int size);
     Order processPayment(Long orderId, String paymentMethod);
     Order confirmDelivery(Long orderId);
     Order initiateReturn(Long orderId, String reason);
@@ -0,0 +1,15 @@
+package com.example.ecommerce.service;
+
+public enum ProductSearchMode {
+    /**
+     * Case-insensitive substring match on name and description. Needs no extra
+     * schema but scans the whole table.
+     */
+    LIKE,
+
+    /**
+     * Postgres full-text search over the GIN-indexed {@code search_vector} column,
+     * ranked by {@code ts_rank_cd}. Matches whole words (stemmed), not substrings.
+     */
+    FULL_TEXT
+}
@@ -0,0 +1,13 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductSuggestion;
+import com.example.ecommerce.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ProductSearchService {
+    Page<Product> search(String query, Pageable pageable);
+    List<ProductSuggestion> suggest(String prefix, int limit);
+}
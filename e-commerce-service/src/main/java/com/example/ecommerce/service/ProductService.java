@@ -1,26 +1,40 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductFilter;
+import com.example.ecommerce.dto.ProductSnapshot;
 import com.example.ecommerce.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ProductService {
     Product createProduct(Product product);
     Product updateProduct(Long id, Product product);
     Optional<Product> getProduct(Long id);
+    Optional<ProductSnapshot> getProductSnapshot(Long id);
     Page<Product> searchProducts(String query, Pageable pageable);
+    CursorPage<Product> searchProducts(String query, String cursor, int size);
     List<Product> getFeaturedProducts();
     void deleteProduct(Long id);
     boolean updateStock(Long productId, int quantity);
+    int getStockQuantity(Long productId);
     List<Product> getProductsByCategory(Long categoryId);
     List<Product> getProductsByPriceRange(BigDecimal min, BigDecimal max);
+    Page<Product> filterProducts(ProductFilter filter, Pageable pageable);
+    int[] getPriceHistogram(List<BigDecimal> lowerBounds);
+    ProductFacets getFacets(ProductFilter filter, List<BigDecimal> priceBounds);
     void updateProductRating(Long productId);
+    int recomputeAllProductRatings();
     boolean reserveStock(Long productId, int quantity);
+    void reserveStockBatch(Map<Long, Integer> quantities);
     void releaseStock(Long productId, int quantity);
     List<Product> getRelatedProducts(Long productId);
     Page<Product> getProductsByTags(List<String> tags, Pageable pageable);
+    Page<Product> getProductsByTags(List<String> tags, TagMatch match, Pageable pageable);
 }
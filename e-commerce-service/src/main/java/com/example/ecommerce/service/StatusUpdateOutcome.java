@@ -0,0 +1,23 @@
+package com.example.ecommerce.service;
+
+public enum StatusUpdateOutcome {
+    /**
+     * The order moved to the requested status.
+     */
+    UPDATED,
+
+    /**
+     * No order with this id exists.
+     */
+    NOT_FOUND,
+
+    /**
+     * The order's current status may not move to the requested one; it was left unchanged.
+     */
+    INVALID_TRANSITION,
+
+    /**
+     * The order changed between validation and the write; it was left unchanged and can be retried.
+     */
+    CONFLICT
+}
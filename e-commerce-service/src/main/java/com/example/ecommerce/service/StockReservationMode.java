@@ -0,0 +1,21 @@
+package com.example.ecommerce.service;
+
+public enum StockReservationMode {
+    /**
+     * Read-check-write on the entity while holding an in-process lock per product.
+     * Only safe when a single application node mutates stock.
+     */
+    LOCKING,
+
+    /**
+     * Single conditional UPDATE per change; the database row is the only
+     * serialization point, so any number of nodes can reserve concurrently.
+     */
+    ATOMIC,
+
+    /**
+     * In-memory counters with a local journal and write-behind to the database.
+     * Only safe when a single application node mutates stock.
+     */
+    LEDGER
+}
@@ -0,0 +1,13 @@
+package com.example.ecommerce.service;
+
+public enum TagMatch {
+    /**
+     * Products carrying every requested tag.
+     */
+    ALL,
+
+    /**
+     * Products carrying at least one of the requested tags.
+     */
+    ANY
+}
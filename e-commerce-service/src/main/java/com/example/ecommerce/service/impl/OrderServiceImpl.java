@@ -1,29 +1,43 @@
 package com.example.ecommerce.service.impl;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.KeysetCursor;
 import com.example.ecommerce.dto.OrderRequest;
 import com.example.ecommerce.event.OrderEvent;
 import com.example.ecommerce.exception.*;
 import com.example.ecommerce.model.Order;
 import com.example.ecommerce.model.OrderStatus;
 import com.example.ecommerce.model.Product;
+import com.example.ecommerce.notification.NotificationDispatcher;
+import com.example.ecommerce.notification.NotificationType;
 import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.OrderStatusBatchRepository.StatusChange;
+import com.example.ecommerce.repository.OrderStatusVersion;
 import com.example.ecommerce.service.OrderService;
 import com.example.ecommerce.service.ProductService;
 import com.example.ecommerce.service.NotificationService;
+import com.example.ecommerce.service.StatusUpdateOutcome;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -32,8 +46,19 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final ProductService productService;
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final ApplicationEventPublisher eventPublisher;
 
+    // Side effects of entering a status; statuses without an entry have none
+    private final Map<OrderStatus, Consumer<Order>> statusActions = new EnumMap<>(Map.of(
+        OrderStatus.PAID, this::processSuccessfulPayment,
+        OrderStatus.SHIPPED, this::initiateShipment,
+        OrderStatus.DELIVERED, this::completeDelivery,
+        OrderStatus.RETURNED, this::processReturn));
+
+    @Value("${ecommerce.orders.status-batch-size:500}")
+    private int statusBatchSize = 500;
+
     @Override
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public Order createOrder(OrderRequest orderRequest) {
@@ -47,15 +72,15 @@ public class OrderServiceImpl implements OrderService {
             order = orderRepository.save(order);
 
             // Async notification
-            CompletableFuture.runAsync(() -> notificationService.sendOrderCreationNotification(order));
+            notificationDispatcher.dispatch(NotificationType.ORDER_CREATED,
+                () -> notificationService.sendOrderCreationNotification(order));
 
             // Publish event
             eventPublisher.publishEvent(new OrderEvent(this, order.getId(), "ORDER_CREATED"));
 
             return order;
         } catch (Exception e) {
-            // Release reserved stock in case of failure
-            rollbackStockReservations(orderRequest);
+            // The stock reservation joined this transaction, so it is rolled back with it
             throw new OrderCreationException("Failed to create order", e);
         }
     }
@@ -71,8 +96,10 @@ public class OrderServiceImpl implements OrderService {
             order.updateStatus(newStatus);
             order = orderRepository.save(order);
 
-            // Handle status-specific actions
-            handleStatusSpecificActions(order, newStatus);
+            Consumer<Order> action = statusActions.get(newStatus);
+            if (action != null) {
+                action.accept(order);
+            }
 
             // Publish event
             eventPublisher.publishEvent(new OrderEvent(this, order.getId(), "STATUS_UPDATED_" + newStatus));
@@ -83,10 +110,107 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Override
+    @Transactional
+    public List<Long> updateOrderStatus(List<Long> ids, OrderStatus newStatus) {
+        // No retry needed: the conditional UPDATE takes row locks instead of relying on @Version
+        List<Long> updated = orderRepository.updateStatusWhereAllowed(new LinkedHashSet<>(ids), newStatus);
+        log.info("Moved {} of {} orders to {}", updated.size(), ids.size(), newStatus);
+
+        Consumer<Order> action = statusActions.get(newStatus);
+        if (action != null && !updated.isEmpty()) {
+            // Loaded after the update, so the entities already carry the new status
+            orderRepository.findAllById(updated).forEach(action);
+        }
+        updated.forEach(id -> eventPublisher.publishEvent(new OrderEvent(this, id, "STATUS_UPDATED_" + newStatus)));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, StatusUpdateOutcome> updateOrderStatuses(Map<Long, OrderStatus> statuses) {
+        Map<Long, StatusUpdateOutcome> outcomes = new LinkedHashMap<>();
+        statuses.keySet().forEach(id -> outcomes.put(id, StatusUpdateOutcome.NOT_FOUND));
+
+        // Chunks in id order, so concurrent bulk updates lock rows in the same order
+        List<Long> ids = statuses.keySet().stream().sorted().toList();
+        for (int from = 0; from < ids.size(); from += statusBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + statusBatchSize, ids.size()));
+            updateStatusChunk(chunk, statuses, outcomes);
+        }
+        log.info("Updated the status of {} of {} orders",
+            outcomes.values().stream().filter(StatusUpdateOutcome.UPDATED::equals).count(), statuses.size());
+        return outcomes;
+    }
+
+    // One read of status and version, one JDBC batch, one load of the orders that need a side effect
+    private void updateStatusChunk(List<Long> ids, Map<Long, OrderStatus> statuses,
+                                   Map<Long, StatusUpdateOutcome> outcomes) {
+        List<StatusChange> changes = new ArrayList<>(ids.size());
+        for (OrderStatusVersion current : orderRepository.findStatusVersionsByIdIn(ids)) {
+            OrderStatus target = statuses.get(current.id());
+            if (target != null && current.status().canTransitionTo(target)) {
+                changes.add(new StatusChange(current.id(), current.version(), target));
+            } else {
+                outcomes.put(current.id(), StatusUpdateOutcome.INVALID_TRANSITION);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        int[] updatedRows = orderRepository.updateStatusBatch(changes);
+        List<Long> needingAction = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            StatusChange change = changes.get(i);
+            if (updatedRows[i] == 0) {
+                outcomes.put(change.id(), StatusUpdateOutcome.CONFLICT);
+                continue;
+            }
+            outcomes.put(change.id(), StatusUpdateOutcome.UPDATED);
+            if (statusActions.containsKey(change.status())) {
+                needingAction.add(change.id());
+            }
+            eventPublisher.publishEvent(new OrderEvent(this, change.id(), "STATUS_UPDATED_" + change.status()));
+        }
+        if (!needingAction.isEmpty()) {
+            // Loaded after the write, so each order already carries its new status
+            orderRepository.findAllById(needingAction)
+                .forEach(order -> statusActions.get(order.getStatus()).accept(order));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Order> getOrder(Long id) {
-        return orderRepository.findById(id);
+        return orderRepository.findDetailedById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Order> getUserOrders(Long userId, Pageable pageable) {
+        Page<Order> orders = orderRepository.findByUserId(userId, pageable);
+        fetchItems(orders.getContent());
+        return orders;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getUserOrders(Long userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Order> rows = orderRepository.findKeysetPageByUserId(
+            userId, position.createdAt(), position.id(), PageRequest.ofSize(pageSize + 1));
+        CursorPage<Order> page = CursorPage.of(rows, pageSize, order -> new KeysetCursor(order.getCreatedAt(), order.getId()));
+        fetchItems(page.content());
+        return page;
+    }
+
+    // Pages are fetched with to-one associations only; a collection fetch join would force in-memory paging
+    private void fetchItems(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            orderRepository.findWithItemsByIdIn(orders.stream().map(Order::getId).toList());
+        }
     }
 
     @Override
@@ -108,7 +232,8 @@ public class OrderServiceImpl implements OrderService {
             orderRepository.save(order);
 
             // Async notification
-            CompletableFuture.runAsync(() -> notificationService.sendOrderCancellationNotification(order));
+            notificationDispatcher.dispatch(NotificationType.ORDER_CANCELLED,
+                () -> notificationService.sendOrderCancellationNotification(order));
 
             // Publish event
             eventPublisher.publishEvent(new OrderEvent(this, order.getId(), "ORDER_CANCELLED"));
@@ -121,67 +246,40 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private void validateAndReserveStock(OrderRequest orderRequest) {
-        orderRequest.getItems().forEach(item -> {
-            if (!productService.reserveStock(item.getProductId(), item.getQuantity())) {
-                throw new InsufficientStockException(
-                    "Insufficient stock for product: " + item.getProductId());
-            }
-        });
-    }
+        Map<Long, Integer> quantities = orderRequest.getItems().stream()
+            .collect(Collectors.toMap(
+                OrderRequest.OrderItemRequest::getProductId,
+                OrderRequest.OrderItemRequest::getQuantity,
+                Integer::sum));
 
-    private void rollbackStockReservations(OrderRequest orderRequest) {
-        orderRequest.getItems().forEach(item -> {
-            try {
-                productService.releaseStock(item.getProductId(), item.getQuantity());
-            } catch (Exception e) {
-                log.error("Failed to release stock for product: {}", item.getProductId(), e);
-            }
-        });
-    }
-
-    private void handleStatusSpecificActions(Order order, OrderStatus newStatus) {
-        switch (newStatus) {
-            case PAID:
-                processSuccessfulPayment(order);
-                break;
-            case SHIPPED:
-                initiateShipment(order);
-                break;
-            case DELIVERED:
-                completeDelivery(order);
-                break;
-            case RETURNED:
-                processReturn(order);
-                break;
-            default:
-                // No specific action needed
-        }
+        // All-or-nothing; throws InsufficientStockException naming the first short product
+        productService.reserveStockBatch(quantities);
     }
 
     private void processSuccessfulPayment(Order order) {
-        CompletableFuture.runAsync(() -> {
+        notificationDispatcher.dispatch(NotificationType.PAYMENT_CONFIRMED, () -> {
             notificationService.sendPaymentConfirmation(order);
             // Additional payment processing logic
         });
     }
 
     private void initiateShipment(Order order) {
-        CompletableFuture.runAsync(() -> {
+        notificationDispatcher.dispatch(NotificationType.SHIPPED, () -> {
             notificationService.sendShipmentNotification(order);
             // Additional shipment processing logic
         });
     }
 
+    // completedAt is stamped by Order.updateStatus and the bulk UPDATE
     private void completeDelivery(Order order) {
-        order.setCompletedAt(LocalDateTime.now());
-        CompletableFuture.runAsync(() -> {
+        notificationDispatcher.dispatch(NotificationType.DELIVERED, () -> {
             notificationService.sendDeliveryConfirmation(order);
             // Additional delivery completion logic
         });
     }
 
     private void processReturn(Order order) {
-        CompletableFuture.runAsync(() -> {
+        notificationDispatcher.dispatch(NotificationType.RETURNED, () -> {
             notificationService.sendReturnConfirmation(order);
             // Process refund and return logic
         });
@@ -0,0 +1,110 @@
+package com.example.ecommerce.service.impl;
+
+import com.example.ecommerce.dto.ProductSuggestion;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.search.ProductDocument;
+import com.example.ecommerce.search.ProductSuggestionIndex;
+import com.example.ecommerce.service.ProductSearchService;
+import com.example.ecommerce.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text product search ranked by Elasticsearch relevance, with name matches
+ * weighted above description matches and typo tolerance.
+ *
+ * <p>Falls back to the database search when the query is blank or the index cannot
+ * be reached. After a failure the index is not tried again for
+ * {@code ecommerce.search.unavailable-backoff-ms}, so an outage does not add a
+ * connection timeout to every request.
+ *
+ * <p>Typeahead suggestions, names included, come from the in-memory
+ * {@link ProductSuggestionIndex} without any per-product lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ProductSuggestionIndex productSuggestionIndex;
+
+    @Value("${ecommerce.search.unavailable-backoff-ms:30000}")
+    private long unavailableBackoffMillis = 30_000;
+
+    private volatile long indexUnavailableUntil;
+
+    // Not transactional, so no connection is held while waiting on Elasticsearch
+    @Override
+    public Page<Product> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return productService.searchProducts("", pageable);
+        }
+        if (System.currentTimeMillis() < indexUnavailableUntil) {
+            return productService.searchProducts(query, pageable);
+        }
+
+        try {
+            return searchIndex(query, pageable);
+        } catch (DataAccessException e) {
+            indexUnavailableUntil = System.currentTimeMillis() + unavailableBackoffMillis;
+            log.warn("Product search index unavailable, using database search for the next {} ms", unavailableBackoffMillis, e);
+            return productService.searchProducts(query, pageable);
+        }
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        int clampedLimit = Math.min(Math.max(limit, 1), ProductSuggestion.MAX_LIMIT);
+        return productSuggestionIndex.suggest(prefix, clampedLimit).stream()
+                .map(id -> new ProductSuggestion(id, productSuggestionIndex.name(id)))
+                // A refresh may drop the name of a deactivated product just before its postings
+                .filter(suggestion -> suggestion.name() != null)
+                .toList();
+    }
+
+    // Results are always in relevance order; a requested sort would apply to analyzed text fields
+    private Page<Product> searchIndex(String query, Pageable pageable) {
+        NativeQuery searchQuery = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b
+                        .must(m -> m.multiMatch(mm -> mm
+                                .query(query)
+                                .fields("name^3", "description")
+                                .fuzziness("AUTO")))
+                        .filter(f -> f.term(t -> t.field("active").value(true)))))
+                .withPageable(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .build();
+        SearchHits<ProductDocument> hits = elasticsearchOperations.search(searchQuery, ProductDocument.class);
+
+        List<Long> rankedIds = hits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .map(ProductDocument::getId)
+                .toList();
+        Map<Long, Product> products = productRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> ranked = rankedIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, pageable, hits.getTotalHits());
+    }
+}
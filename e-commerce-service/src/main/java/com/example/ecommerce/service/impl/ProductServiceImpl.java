@@ -1,42 +1,87 @@
 package com.example.ecommerce.service.impl;
 
+import com.example.ecommerce.dto.CursorPage;
+import com.example.ecommerce.dto.KeysetCursor;
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductFilter;
+import com.example.ecommerce.dto.ProductSnapshot;
+import com.example.ecommerce.event.ProductChangedEvent;
 import com.example.ecommerce.event.ProductStockEvent;
+import com.example.ecommerce.exception.InsufficientStockException;
 import com.example.ecommerce.exception.ProductNotFoundException;
 import com.example.ecommerce.exception.StockUpdateException;
+import com.example.ecommerce.inventory.InventoryLedger;
 import com.example.ecommerce.model.Product;
 import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.repository.ProductSpecifications;
+import com.example.ecommerce.search.ProductPriceIndex;
+import com.example.ecommerce.search.ProductTagIndex;
+import com.example.ecommerce.service.ProductSearchMode;
 import com.example.ecommerce.service.ProductService;
+import com.example.ecommerce.service.StockReservationMode;
+import com.example.ecommerce.service.TagMatch;
+import com.example.ecommerce.util.StripedLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+    private static final int STOCK_LOCK_STRIPES = 1024;
+
     private final ProductRepository productRepository;
     private final ApplicationEventPublisher eventPublisher;
-    private final Lock stockUpdateLock = new ReentrantLock();
+    private final ObjectProvider<InventoryLedger> inventoryLedger;
+    private final ProductTagIndex productTagIndex;
+    private final ObjectProvider<ProductPriceIndex> priceIndex;
+    private final StripedLock stockLocks = new StripedLock(STOCK_LOCK_STRIPES);
+
+    @Value("${ecommerce.inventory.reservation-mode:LOCKING}")
+    private StockReservationMode reservationMode = StockReservationMode.LOCKING;
+
+    @Value("${ecommerce.search.database-mode:LIKE}")
+    private ProductSearchMode searchMode = ProductSearchMode.LIKE;
 
     @Override
     @Transactional
     public Product createProduct(Product product) {
         validateProduct(product);
         Product savedProduct = productRepository.save(product);
-        eventPublisher.publishEvent(new ProductStockEvent(this, savedProduct.getId(), "CREATED", savedProduct.getStockQuantity()));
+        eventPublisher.publishEvent(new ProductStockEvent(this, savedProduct.getId(), "CREATED",
+                savedProduct.getStockQuantity(), savedProduct.getStockQuantity()));
+        eventPublisher.publishEvent(new ProductChangedEvent(this, savedProduct.getId(), isListedAsFeatured(savedProduct)));
         return savedProduct;
     }
 
@@ -47,48 +92,165 @@ public class ProductServiceImpl implements ProductService {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
 
+        boolean wasListedAsFeatured = isListedAsFeatured(existingProduct);
         updateProductFields(existingProduct, product);
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, id,
+                wasListedAsFeatured || isListedAsFeatured(savedProduct)));
+        return savedProduct;
     }
 
     @Override
-    @Cacheable(value = "products", key = "#id")
     public Optional<Product> getProduct(Long id) {
         return productRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "products", key = "#id", unless = "#result == null")
+    public Optional<ProductSnapshot> getProductSnapshot(Long id) {
+        return productRepository.findById(id).map(ProductSnapshot::fromProduct);
+    }
+
+    /**
+     * Reads the featured list from the database. Request paths serve the precomputed
+     * FeaturedProductsCatalog instead; this is what it refreshes from.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getFeaturedProducts() {
+        return productRepository.findByFeaturedTrueAndActiveTrueOrderByCreatedAtDescIdDesc();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getRelatedProducts(Long productId) {
+        return productRepository.findRelatedProducts(productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByPriceRange(BigDecimal min, BigDecimal max) {
+        return productRepository.findAll(ProductSpecifications.matching(ProductFilter.priceRange(min, max)), Sort.by("price", "id"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> filterProducts(ProductFilter filter, Pageable pageable) {
+        return productRepository.findAll(ProductSpecifications.matching(filter), pageable);
+    }
+
+    /**
+     * Active products per price bucket; bucket {@code i} starts at {@code lowerBounds[i]}
+     * and the last one is open above. Answered from the in-memory price index when it is
+     * enabled, otherwise with one grouped query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int[] getPriceHistogram(List<BigDecimal> lowerBounds) {
+        if (lowerBounds.isEmpty()) {
+            throw new IllegalArgumentException("At least one bucket bound is required");
+        }
+        requireAscending(lowerBounds);
+
+        ProductPriceIndex index = priceIndex.getIfAvailable();
+        if (index != null) {
+            return index.histogram(lowerBounds.toArray(BigDecimal[]::new));
+        }
+        return productRepository.countPriceHistogram(lowerBounds);
+    }
+
+    /**
+     * All facet counts for a filter from one grouped query, cached per normalized filter
+     * for {@code ecommerce.cache.facets-time-to-live}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "productFacets",
+            key = "T(com.example.ecommerce.dto.ProductFacets).cacheKey(#filter, #priceBounds)")
+    public ProductFacets getFacets(ProductFilter filter, List<BigDecimal> priceBounds) {
+        requireAscending(priceBounds);
+        return productRepository.countFacets(filter, priceBounds);
+    }
+
+    @Override
+    public Page<Product> getProductsByTags(List<String> tags, Pageable pageable) {
+        return getProductsByTags(tags, TagMatch.ALL, pageable);
+    }
+
+    /**
+     * Filters on the in-memory tag index and loads only the requested page, newest
+     * first; a requested sort is ignored.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> getProductsByTags(List<String> tags, TagMatch match, Pageable pageable) {
+        RoaringBitmap matches = productTagIndex.match(tags, match);
+        List<Long> pageIds = ProductTagIndex.page(matches, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Product> products = productRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> page = pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(page, pageable, matches.getLongCardinality());
+    }
+
     @Override
     @Transactional
     @Retryable(maxAttempts = 3)
     public boolean updateStock(Long productId, int quantity) {
-        stockUpdateLock.lock();
-        try {
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + productId));
-
-            if (quantity < 0 && Math.abs(quantity) > product.getStockQuantity()) {
-                throw new StockUpdateException("Insufficient stock for product: " + productId);
-            }
+        return changeStock(productId, quantity, "UPDATED");
+    }
 
-            product.updateStock(quantity);
-            productRepository.save(product);
-            eventPublisher.publishEvent(new ProductStockEvent(this, productId, "UPDATED", product.getStockQuantity()));
-            return true;
-        } finally {
-            stockUpdateLock.unlock();
+    /**
+     * Current stock, read past the products cache: from the in-memory counter in
+     * LEDGER mode, otherwise with a single-column primary key lookup.
+     */
+    @Override
+    public int getStockQuantity(Long productId) {
+        if (reservationMode == StockReservationMode.LEDGER) {
+            return inventoryLedger.getObject().available(productId);
         }
+        return productRepository.findStockQuantityById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + productId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<Product> searchProducts(String query, Pageable pageable) {
+        if (searchMode == ProductSearchMode.FULL_TEXT && query != null && !query.isBlank()) {
+            // Ranked by relevance; a requested sort would be appended after the rank ordering
+            return productRepository.searchFullText(query,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        }
         return productRepository.findByNameContainingOrDescriptionContainingAllIgnoreCase(query, query, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Product> searchProducts(String query, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Product> rows = productRepository.searchKeysetPage(query != null ? escapeLike(query) : "",
+                position.createdAt(), position.id(), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(rows, pageSize, product -> new KeysetCursor(product.getCreatedAt(), product.getId()));
+    }
+
     @Override
     @Transactional
     public boolean reserveStock(Long productId, int quantity) {
-        stockUpdateLock.lock();
+        if (reservationMode != StockReservationMode.LOCKING) {
+            if (!applyStockChangeWithoutLock(productId, -quantity)) {
+                return false;
+            }
+            eventPublisher.publishEvent(new ProductStockEvent(this, productId, "RESERVED",
+                    getStockQuantity(productId), -quantity));
+            return true;
+        }
+
+        Lock stockLock = stockLocks.get(productId);
+        stockLock.lock();
         try {
             Product product = productRepository.findById(productId)
                     .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + productId));
@@ -99,18 +261,209 @@ public class ProductServiceImpl implements ProductService {
 
             product.updateStock(-quantity);
             productRepository.save(product);
-            eventPublisher.publishEvent(new ProductStockEvent(this, productId, "RESERVED", product.getStockQuantity()));
+            eventPublisher.publishEvent(new ProductStockEvent(this, productId, "RESERVED",
+                    product.getStockQuantity(), -quantity));
             return true;
         } finally {
-            stockUpdateLock.unlock();
+            stockLock.unlock();
         }
     }
 
+    @Override
+    @Transactional
+    public void reserveStockBatch(Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> orderedQuantities = new TreeMap<>(quantities);
+        if (orderedQuantities.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> stockLevels = switch (reservationMode) {
+            case ATOMIC -> reserveStockBatchAtomically(orderedQuantities);
+            case LEDGER -> reserveStockBatchInLedger(orderedQuantities);
+            default -> reserveStockBatchLocking(orderedQuantities);
+        };
+
+        orderedQuantities.forEach((productId, quantity) ->
+                eventPublisher.publishEvent(new ProductStockEvent(this, productId, "RESERVED",
+                        stockLevels.get(productId), -quantity)));
+    }
+
     @Override
     @Transactional
     public void releaseStock(Long productId, int quantity) {
-        updateStock(productId, quantity);
-        eventPublisher.publishEvent(new ProductStockEvent(this, productId, "RELEASED", quantity));
+        changeStock(productId, quantity, "RELEASED");
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "products", key = "#productId")
+    public void updateProductRating(Long productId) {
+        if (productRepository.recomputeRatingAggregates(productId) == 0) {
+            throw new ProductNotFoundException("Product not found with id: " + productId);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${ecommerce.ratings.recompute-cron:0 30 3 * * *}")
+    @CacheEvict(value = "products", allEntries = true)
+    public int recomputeAllProductRatings() {
+        int driftedProducts = productRepository.recomputeAllRatingAggregates();
+        log.info("Recomputed rating aggregates, {} products had drifted", driftedProducts);
+        return driftedProducts;
+    }
+
+    /**
+     * Applies a signed stock change and publishes exactly one event of the given type
+     * carrying the resulting stock level and that change.
+     */
+    private boolean changeStock(Long productId, int quantity, String eventType) {
+        if (reservationMode != StockReservationMode.LOCKING) {
+            if (!applyStockChangeWithoutLock(productId, quantity)) {
+                throw new StockUpdateException("Insufficient stock for product: " + productId);
+            }
+            eventPublisher.publishEvent(new ProductStockEvent(this, productId, eventType,
+                    getStockQuantity(productId), quantity));
+            return true;
+        }
+
+        Lock stockLock = stockLocks.get(productId);
+        stockLock.lock();
+        try {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + productId));
+
+            if (quantity < 0 && Math.abs(quantity) > product.getStockQuantity()) {
+                throw new StockUpdateException("Insufficient stock for product: " + productId);
+            }
+
+            product.updateStock(quantity);
+            productRepository.save(product);
+            eventPublisher.publishEvent(new ProductStockEvent(this, productId, eventType,
+                    product.getStockQuantity(), quantity));
+            return true;
+        } finally {
+            stockLock.unlock();
+        }
+    }
+
+    private Map<Long, Integer> reserveStockBatchAtomically(SortedMap<Long, Integer> orderedQuantities) {
+        int[] updatedRows = productRepository.decrementStockBatch(orderedQuantities);
+
+        int index = 0;
+        for (Long productId : orderedQuantities.keySet()) {
+            if (updatedRows[index++] == 0) {
+                // Throwing rolls back the rows already decremented in this batch
+                throw insufficientOrMissing(productId);
+            }
+        }
+        // The decremented rows stay locked until commit, so these are this batch's levels
+        return productRepository.findStockQuantities(orderedQuantities.keySet());
+    }
+
+    private Map<Long, Integer> reserveStockBatchInLedger(SortedMap<Long, Integer> orderedQuantities) {
+        InventoryLedger ledger = inventoryLedger.getObject();
+        Map<Long, Integer> appliedDeltas = new LinkedHashMap<>();
+        try {
+            orderedQuantities.forEach((productId, quantity) -> {
+                if (!ledger.tryApply(productId, -quantity)) {
+                    throw new InsufficientStockException("Insufficient stock for product: " + productId);
+                }
+                appliedDeltas.put(productId, -quantity);
+            });
+        } catch (RuntimeException e) {
+            appliedDeltas.forEach((productId, delta) -> ledger.forceApply(productId, -delta));
+            throw e;
+        }
+        compensateLedgerOnRollback(appliedDeltas);
+
+        Map<Long, Integer> stockLevels = new HashMap<>();
+        orderedQuantities.keySet().forEach(productId -> stockLevels.put(productId, ledger.available(productId)));
+        return stockLevels;
+    }
+
+    private Map<Long, Integer> reserveStockBatchLocking(SortedMap<Long, Integer> orderedQuantities) {
+        List<Lock> locks = stockLocks.getAll(orderedQuantities.keySet());
+        locks.forEach(Lock::lock);
+        try {
+            Map<Long, Product> products = productRepository.findAllById(orderedQuantities.keySet()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            orderedQuantities.forEach((productId, quantity) -> {
+                Product product = products.get(productId);
+                if (product == null) {
+                    throw new ProductNotFoundException("Product not found with id: " + productId);
+                }
+                if (product.getStockQuantity() < quantity) {
+                    throw new InsufficientStockException("Insufficient stock for product: " + productId);
+                }
+            });
+
+            orderedQuantities.forEach((productId, quantity) -> products.get(productId).updateStock(-quantity));
+            productRepository.saveAll(products.values());
+            return products.values().stream()
+                    .collect(Collectors.toMap(Product::getId, Product::getStockQuantity));
+        } finally {
+            ListIterator<Lock> iterator = locks.listIterator(locks.size());
+            while (iterator.hasPrevious()) {
+                iterator.previous().unlock();
+            }
+        }
+    }
+
+    private RuntimeException insufficientOrMissing(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            return new ProductNotFoundException("Product not found with id: " + productId);
+        }
+        return new InsufficientStockException("Insufficient stock for product: " + productId);
+    }
+
+    /**
+     * Applies the change through the configured non-locking mode.
+     */
+    private boolean applyStockChangeWithoutLock(Long productId, int quantity) {
+        if (reservationMode == StockReservationMode.LEDGER) {
+            return applyStockChangeInLedger(productId, quantity);
+        }
+        return applyStockChangeAtomically(productId, quantity);
+    }
+
+    private boolean applyStockChangeInLedger(Long productId, int quantity) {
+        if (!inventoryLedger.getObject().tryApply(productId, quantity)) {
+            return false;
+        }
+        compensateLedgerOnRollback(Map.of(productId, quantity));
+        return true;
+    }
+
+    /**
+     * Ledger counters live outside the database transaction, so undo the deltas
+     * ourselves if the surrounding transaction rolls back.
+     */
+    private void compensateLedgerOnRollback(Map<Long, Integer> appliedDeltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    InventoryLedger ledger = inventoryLedger.getObject();
+                    appliedDeltas.forEach((productId, delta) -> ledger.forceApply(productId, -delta));
+                }
+            }
+        });
+    }
+
+    private boolean applyStockChangeAtomically(Long productId, int quantity) {
+        int updatedRows = quantity < 0
+                ? productRepository.decrementStockIfAvailable(productId, -quantity)
+                : productRepository.incrementStock(productId, quantity);
+
+        if (updatedRows == 0 && !productRepository.existsById(productId)) {
+            throw new ProductNotFoundException("Product not found with id: " + productId);
+        }
+        return updatedRows > 0;
     }
 
     private void validateProduct(Product product) {
@@ -122,6 +475,23 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
+    private static void requireAscending(List<BigDecimal> bounds) {
+        for (int i = 1; i < bounds.size(); i++) {
+            if (bounds.get(i).compareTo(bounds.get(i - 1)) <= 0) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly ascending");
+            }
+        }
+    }
+
+    // Matches the pattern characters literally under LIKE ... ESCAPE '\'
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean isListedAsFeatured(Product product) {
+        return product.isFeatured() && product.isActive();
+    }
+
     private void updateProductFields(Product existing, Product updated) {
         existing.setName(updated.getName());
         existing.setDescription(updated.getDescription());
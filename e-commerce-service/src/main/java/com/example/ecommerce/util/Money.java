@@ -0,0 +1,43 @@
+package com.example.ecommerce.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between {@link BigDecimal} amounts and {@code long} minor units
+ * (cents for a currency with two decimals), for arithmetic on hot paths that must not
+ * allocate a {@code BigDecimal} per operation. Amounts stay {@code BigDecimal} at the
+ * persistence and API boundary.
+ *
+ * <p>Orders are single-currency with {@link #DEFAULT_SCALE} decimals.
+ */
+public final class Money {
+    public static final int DEFAULT_SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return toMinorUnits(amount, DEFAULT_SCALE);
+    }
+
+    /**
+     * Converts an amount to minor units of the given scale; null counts as zero.
+     *
+     * @throws ArithmeticException if the amount has more decimals than the scale or
+     *                             does not fit in a long
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(scale).longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return fromMinorUnits(minorUnits, DEFAULT_SCALE);
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+}
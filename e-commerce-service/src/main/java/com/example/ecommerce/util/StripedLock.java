@@ -0,0 +1,62 @@
+package com.example.ecommerce.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size table of locks keyed by a long id. Ids that hash to the same
+ * stripe share a lock, so memory stays bounded no matter how many ids are
+ * seen, while work on different ids can usually proceed in parallel.
+ */
+public final class StripedLock {
+    private final Lock[] stripes;
+    private final int mask;
+
+    public StripedLock(int minimumStripes) {
+        if (minimumStripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = 1;
+        while (size < minimumStripes) {
+            size <<= 1;
+        }
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(long id) {
+        return stripes[indexFor(id)];
+    }
+
+    /**
+     * Returns the distinct locks covering the given ids in stripe order. Callers
+     * that lock them in the returned order cannot deadlock against each other.
+     */
+    public List<Lock> getAll(Iterable<Long> ids) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long id : ids) {
+            indexes.add(indexFor(id));
+        }
+        List<Lock> locks = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    public int indexFor(long id) {
+        int h = Long.hashCode(id);
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
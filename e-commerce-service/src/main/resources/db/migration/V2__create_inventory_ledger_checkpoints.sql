@@ -0,0 +1,5 @@
+-- Last journal segment of each inventory ledger shard whose deltas are applied to products
+CREATE TABLE inventory_ledger_checkpoints (
+    shard        INTEGER PRIMARY KEY,
+    last_segment BIGINT  NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Running sum of review ratings so average_rating can be maintained in O(1) per review
+ALTER TABLE products ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+UPDATE products p
+SET rating_sum     = s.rating_sum,
+    total_reviews  = s.review_count,
+    average_rating = CASE WHEN s.review_count = 0 THEN 0
+                          ELSE CAST(s.rating_sum AS DOUBLE PRECISION) / s.review_count END
+FROM (SELECT pr.id AS product_id, COUNT(r.id) AS review_count, COALESCE(SUM(r.rating), 0) AS rating_sum
+      FROM products pr
+      LEFT JOIN product_reviews r ON r.product_id = pr.id
+      GROUP BY pr.id) s
+WHERE p.id = s.product_id;
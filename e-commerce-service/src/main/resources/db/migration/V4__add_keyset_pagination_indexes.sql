@@ -0,0 +1,3 @@
+-- Support keyset pagination on (created_at desc, id desc)
+CREATE INDEX idx_orders_user_created_id ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_products_created_id ON products (created_at DESC, id DESC);
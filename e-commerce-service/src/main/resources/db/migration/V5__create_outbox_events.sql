@@ -0,0 +1,9 @@
+-- Domain events written in the business transaction and relayed to AMQP by OutboxRelay
+CREATE TABLE outbox_events (
+    id             BIGSERIAL    PRIMARY KEY,
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   BIGINT       NOT NULL,
+    event_type     VARCHAR(100) NOT NULL,
+    payload        TEXT         NOT NULL,
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,10 @@
+-- Top-K related products per product, rebuilt by RelatedProductsJob
+CREATE TABLE related_products (
+    product_id         BIGINT           NOT NULL REFERENCES products (id) ON DELETE CASCADE,
+    rank               SMALLINT         NOT NULL,
+    related_product_id BIGINT           NOT NULL REFERENCES products (id) ON DELETE CASCADE,
+    score              DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (product_id, rank)
+);
+
+CREATE INDEX idx_related_products_related_id ON related_products (related_product_id);
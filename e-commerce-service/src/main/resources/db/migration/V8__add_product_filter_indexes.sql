@@ -0,0 +1,7 @@
+-- Catalog filters always restrict to active products, so the indexes are partial
+CREATE INDEX idx_products_active_category_price ON products (category_id, price) WHERE is_active;
+CREATE INDEX idx_products_active_price ON products (price) WHERE is_active;
+CREATE INDEX idx_products_active_rating ON products (average_rating) WHERE is_active;
+
+-- Tag EXISTS probes start from the tag
+CREATE INDEX IF NOT EXISTS idx_product_tags_tag_product ON product_tags (tag_id, product_id);
@@ -0,0 +1,8 @@
+-- Events the relay gave up on (unroutable, or unconfirmed too many times) are parked
+-- instead of blocking the head of the outbox; clear parked_at to relay one again
+ALTER TABLE outbox_events
+    ADD COLUMN attempts   INTEGER      NOT NULL DEFAULT 0,
+    ADD COLUMN last_error VARCHAR(500),
+    ADD COLUMN parked_at  TIMESTAMP;
+
+CREATE INDEX idx_outbox_events_unparked ON outbox_events (id) WHERE parked_at IS NULL;
@@ -37,6 +37,37 @@ class ProductApiTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.pageable.pageSize", is(10)));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/products?cursor - Should return keyset page without total count")
+    void getProducts_WithCursor_ShouldReturnKeysetPage() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/products")
+                .param("cursor", "")
+                .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(lessThanOrEqualTo(10))))
+                .andExpect(jsonPath("$.hasNext").isBoolean())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/products/featured - Should revalidate with the ETag")
+    void getFeaturedProducts_WithMatchingEtag_ShouldReturn304() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/v1/products/featured"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$", isA(Array.class)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/products/featured")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @ParameterizedTest
     @CsvSource({
         "name,asc,$.content[0].name",
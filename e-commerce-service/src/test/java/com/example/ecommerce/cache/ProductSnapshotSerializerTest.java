@@ -0,0 +1,78 @@
+package com.example.ecommerce.cache;
+
+import com.example.ecommerce.dto.ProductSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSnapshotSerializerTest {
+
+    private final ProductSnapshotSerializer serializer = new ProductSnapshotSerializer();
+
+    @Test
+    @DisplayName("Should round-trip every field")
+    void serialize_ThenDeserialize_ShouldRestoreSnapshot() {
+        // Arrange
+        ProductSnapshot snapshot = new ProductSnapshot(42L, "Espresso Machine", "Dual boiler, PID controlled",
+            new BigDecimal("1299.95"), 4.25, 12, true, true, 3L,
+            LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000), LocalDateTime.of(2024, 2, 1, 8, 0));
+
+        // Act
+        ProductSnapshot restored = serializer.deserialize(serializer.serialize(snapshot));
+
+        // Assert
+        assertEquals(snapshot, restored);
+    }
+
+    @Test
+    @DisplayName("Should round-trip absent optional fields")
+    void serialize_WithNullOptionalFields_ShouldRestoreNulls() {
+        // Arrange
+        ProductSnapshot snapshot = new ProductSnapshot(1L, "Mug", null,
+            new BigDecimal("9.99"), null, 0, false, false, null, null, null);
+
+        // Act
+        ProductSnapshot restored = serializer.deserialize(serializer.serialize(snapshot));
+
+        // Assert
+        assertEquals(snapshot, restored);
+    }
+
+    @Test
+    @DisplayName("Should treat payloads of another format version as a miss")
+    void deserialize_WithUnknownVersion_ShouldReturnNull() {
+        // Arrange
+        byte[] payload = serializer.serialize(new ProductSnapshot(1L, "Mug", null,
+            new BigDecimal("9.99"), null, 0, false, true, null, null, null));
+        payload[0] = ProductSnapshotSerializer.FORMAT_VERSION + 1;
+
+        // Act & Assert
+        assertNull(serializer.deserialize(payload));
+    }
+
+    @Test
+    @DisplayName("Should be several times smaller than JDK serialization")
+    void serialize_ShouldBeSmallerThanJdkSerialization() throws IOException {
+        // Arrange
+        ProductSnapshot snapshot = new ProductSnapshot(42L, "Espresso Machine", "Dual boiler, PID controlled",
+            new BigDecimal("1299.95"), 4.25, 12, true, true, 3L, LocalDateTime.now(), LocalDateTime.now());
+        ByteArrayOutputStream jdkBytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(jdkBytes)) {
+            out.writeObject(snapshot);
+        }
+
+        // Act
+        int binarySize = serializer.serialize(snapshot).length;
+
+        // Assert
+        assertTrue(binarySize * 4 < jdkBytes.size(),
+            "Binary payload (" + binarySize + " bytes) should be well below JDK payload (" + jdkBytes.size() + " bytes)");
+    }
+}
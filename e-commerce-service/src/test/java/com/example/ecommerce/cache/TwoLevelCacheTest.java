@@ -0,0 +1,118 @@
+package com.example.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    private static final String TOPIC = "cache-invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCache remote;
+    private CacheInvalidationChannel invalidationChannel;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("products");
+        invalidationChannel = new CacheInvalidationChannel(redisTemplate, TOPIC);
+        cache = new TwoLevelCache("products", Caffeine.newBuilder().maximumSize(100).build(), remote, invalidationChannel);
+        invalidationChannel.register(cache);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the local tier")
+    void get_AfterRemoteHit_ShouldServeFromLocalTier() {
+        // Arrange
+        remote.put(1L, "product-1");
+        cache.get(1L);
+        remote.evict(1L);
+
+        // Act
+        String value = cache.get(1L, String.class);
+
+        // Assert
+        assertEquals("product-1", value);
+    }
+
+    @Test
+    @DisplayName("Should evict both tiers and tell other nodes")
+    void evict_ShouldClearBothTiersAndBroadcast() {
+        // Arrange
+        cache.put(1L, "product-1");
+        clearInvocations(redisTemplate);
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertNull(cache.get(1L));
+        assertNull(remote.get(1L));
+        verify(redisTemplate).convertAndSend(eq(TOPIC), endsWith("|E|products|1"));
+    }
+
+    @Test
+    @DisplayName("Should drop the local copy when another node invalidates a key")
+    void onMessage_FromOtherNode_ShouldEvictLocalTierOnly() {
+        // Arrange
+        remote.put(1L, "product-1");
+        cache.get(1L);
+        remote.put(1L, "product-1-updated");
+
+        // Act
+        invalidationChannel.onMessage(message("other-node|E|products|1"), null);
+
+        // Assert
+        assertEquals("product-1-updated", cache.get(1L, String.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore invalidations it published itself")
+    void onMessage_FromSameNode_ShouldBeIgnored() {
+        // Arrange
+        cache.put(1L, "product-1");
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TOPIC), published.capture());
+        remote.evict(1L);
+
+        // Act
+        invalidationChannel.onMessage(message(published.getValue()), null);
+
+        // Assert
+        assertEquals("product-1", cache.get(1L, String.class));
+    }
+
+    @Test
+    @DisplayName("Should cache null results on both tiers")
+    void get_WithCachedNull_ShouldReturnNullWrapper() {
+        // Arrange
+        cache.put(2L, null);
+
+        // Act & Assert
+        assertNotNull(cache.get(2L));
+        assertNull(cache.get(2L).get());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TOPIC.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
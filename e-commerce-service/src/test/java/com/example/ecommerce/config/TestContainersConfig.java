@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Bean;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.containers.RedisContainer;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
 import org.testcontainers.utility.DockerImageName;
 
 @TestConfiguration
@@ -42,4 +43,14 @@ public class TestContainersConfig {
         System.setProperty("spring.rabbitmq.port", container.getAmqpPort().toString());
         return container;
     }
+
+    @Bean
+    public ElasticsearchContainer elasticsearchContainer() {
+        ElasticsearchContainer container = new ElasticsearchContainer(
+                DockerImageName.parse("docker.elastic.co/elasticsearch/elasticsearch:8.7.1"))
+                .withEnv("xpack.security.enabled", "false");
+        container.start();
+        System.setProperty("spring.elasticsearch.uris", "http://" + container.getHttpHostAddress());
+        return container;
+    }
 }
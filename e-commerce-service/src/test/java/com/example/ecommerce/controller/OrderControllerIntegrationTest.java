@@ -8,6 +8,7 @@ import com.example.ecommerce.repository.OrderRepository;
 import com.example.ecommerce.repository.UserRepository;
 import com.example.ecommerce.security.JwtTokenProvider;
 import com.example.ecommerce.test.BaseIntegrationTest;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +21,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -40,6 +42,9 @@ class OrderControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private String userToken;
 
@@ -131,6 +136,63 @@ class OrderControllerIntegrationTest extends BaseIntegrationTest {
             Order updatedOrder = orderRepository.findById(order.getId()).orElseThrow();
             assertEquals(OrderStatus.CONFIRMED, updatedOrder.getStatus());
         }
+
+        @Test
+        @DisplayName("Should update many orders at once and report the outcome per order")
+        void updateOrderStatuses_WithMixedRequests_ShouldReportOutcomePerOrder() throws Exception {
+            // Arrange
+            Order confirmable = createAndSaveTestOrder();
+            Order notShippable = createAndSaveTestOrder();
+            long missingId = notShippable.getId() + 1000;
+            String body = asJsonString(Map.of(
+                confirmable.getId(), OrderStatus.CONFIRMED,
+                notShippable.getId(), OrderStatus.SHIPPED,
+                missingId, OrderStatus.CONFIRMED));
+
+            // Act
+            ResultActions result = mockMvc.perform(post("/api/v1/orders/status")
+                    .header("Authorization", "Bearer " + userToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body));
+
+            // Assert
+            result.andExpect(status().isOk())
+                    .andExpect(jsonPath("$['" + confirmable.getId() + "']", is("UPDATED")))
+                    .andExpect(jsonPath("$['" + notShippable.getId() + "']", is("INVALID_TRANSITION")))
+                    .andExpect(jsonPath("$['" + missingId + "']", is("NOT_FOUND")));
+
+            // The batch writes past the persistence context
+            entityManager.clear();
+            Order updatedOrder = orderRepository.findById(confirmable.getId()).orElseThrow();
+            assertEquals(OrderStatus.CONFIRMED, updatedOrder.getStatus());
+            assertEquals(confirmable.getVersion() + 1, updatedOrder.getVersion());
+            assertEquals(OrderStatus.CREATED,
+                orderRepository.findById(notShippable.getId()).orElseThrow().getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Order Listing Tests")
+    class OrderListingTests {
+
+        @Test
+        @DisplayName("Should list a page of orders within a fixed statement budget")
+        void getUserOrders_WithManyOrders_ShouldNotIssueQueryPerOrder() throws Throwable {
+            // Arrange
+            for (int i = 0; i < 20; i++) {
+                createAndSaveTestOrder();
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act & Assert: authentication, page, count and one items query - not one per order
+            assertStatementBudget(6, () ->
+                mockMvc.perform(get("/api/v1/orders/user/{userId}", testUser.getId())
+                        .header("Authorization", "Bearer " + userToken)
+                        .param("size", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()", is(20))));
+        }
     }
 
     private User createTestUser() {
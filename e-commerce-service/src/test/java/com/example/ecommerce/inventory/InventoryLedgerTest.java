@@ -0,0 +1,146 @@
+package com.example.ecommerce.inventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDirectory;
+
+    private InventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.query(startsWith("SELECT stock_quantity"), any(ResultSetExtractor.class), eq(1L)))
+            .thenReturn(10);
+        ledger = newLedger();
+    }
+
+    @Test
+    @DisplayName("Should refuse reservations that would take stock below zero")
+    void tryApply_WithInsufficientStock_ShouldRefuse() {
+        // Act
+        boolean first = ledger.tryApply(1L, -4);
+        boolean second = ledger.tryApply(1L, -4);
+        boolean third = ledger.tryApply(1L, -4);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, ledger.available(1L));
+    }
+
+    @Test
+    @DisplayName("Should write coalesced deltas to the database in one batch")
+    @SuppressWarnings("unchecked")
+    void flush_WithSeveralDeltas_ShouldWriteNetDeltaOnce() {
+        // Arrange
+        ledger.tryApply(1L, -3);
+        ledger.tryApply(1L, -2);
+        ledger.forceApply(1L, 1);
+
+        // Act
+        ledger.flush();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE products"), batchArgs.capture());
+        assertEquals(1, batchArgs.getValue().size());
+        assertArrayEquals(new Object[]{-4, 1L}, batchArgs.getValue().get(0));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO inventory_ledger_checkpoints"), eq(0), eq(0L));
+    }
+
+    @Test
+    @DisplayName("Should replay unflushed journal entries on restart")
+    @SuppressWarnings("unchecked")
+    void recover_WithUnflushedJournal_ShouldReplayDeltas() {
+        // Arrange
+        ledger.tryApply(1L, -3);
+        ledger.tryApply(1L, -1);
+
+        // Act
+        newLedger();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE products"), batchArgs.capture());
+        assertArrayEquals(new Object[]{-4, 1L}, batchArgs.getValue().get(0));
+    }
+
+    @Test
+    @DisplayName("Should skip journal segments already covered by the checkpoint")
+    void recover_WithCheckpointedJournal_ShouldNotReplay() {
+        // Arrange
+        ledger.tryApply(1L, -3);
+        when(jdbcTemplate.query(startsWith("SELECT last_segment"), any(ResultSetExtractor.class), eq(0)))
+            .thenReturn(0L);
+
+        // Act
+        newLedger();
+
+        // Assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should replay deltas journaled after a clean flush and restart")
+    @SuppressWarnings("unchecked")
+    void recover_AfterFlushRestartAndCrash_ShouldReplayNewSegments() {
+        // Arrange: the checkpoint table remembers what the ledger writes to it
+        long[] checkpoint = {-1L};
+        when(jdbcTemplate.update(startsWith("INSERT INTO inventory_ledger_checkpoints"), eq(0), anyLong()))
+            .thenAnswer(invocation -> {
+                checkpoint[0] = invocation.getArgument(2);
+                return 1;
+            });
+        when(jdbcTemplate.query(startsWith("SELECT last_segment"), any(ResultSetExtractor.class), eq(0)))
+            .thenAnswer(invocation -> checkpoint[0] < 0 ? null : checkpoint[0]);
+        ledger.tryApply(1L, -3);
+        ledger.flush();
+        ledger.shutdown();
+
+        InventoryLedger restarted = newLedger();
+        restarted.tryApply(1L, -2);
+
+        // Act: crash before the next flush, then start again
+        newLedger();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("UPDATE products"), batchArgs.capture());
+        assertArrayEquals(new Object[]{-3, 1L}, batchArgs.getAllValues().get(0).get(0));
+        assertArrayEquals(new Object[]{-2, 1L}, batchArgs.getAllValues().get(1).get(0));
+        assertEquals(1L, checkpoint[0]);
+    }
+
+    private InventoryLedger newLedger() {
+        InventoryLedger newLedger = new InventoryLedger(jdbcTemplate, transactionManager, journalDirectory.toString(), 1);
+        newLedger.recover();
+        return newLedger;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ecommerce.inventory;
+
+import com.example.ecommerce.event.ProductStockDeltaEvent;
+import com.example.ecommerce.event.ProductStockEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockEventCoalescerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductStockEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ProductStockEventCoalescer(eventPublisher, meterRegistry, 100);
+    }
+
+    @Test
+    @DisplayName("Should publish one net delta per product for a window")
+    void flush_WithBurstOfEvents_ShouldPublishNetDeltaPerProduct() {
+        // Arrange
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RESERVED", 8, -2));
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RESERVED", 5, -3));
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RELEASED", 6, 1));
+        coalescer.onStockEvent(new ProductStockEvent(this, 2L, "UPDATED", 20, 10));
+        assertEquals(4, meterRegistry.get("stock.events.pending").gauge().value());
+
+        // Act
+        coalescer.flush();
+
+        // Assert
+        ArgumentCaptor<ProductStockDeltaEvent> published = ArgumentCaptor.forClass(ProductStockDeltaEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(published.capture());
+        List<ProductStockDeltaEvent> events = published.getAllValues();
+        ProductStockDeltaEvent first = events.stream().filter(e -> e.getProductId() == 1L).findFirst().orElseThrow();
+        ProductStockDeltaEvent second = events.stream().filter(e -> e.getProductId() == 2L).findFirst().orElseThrow();
+        assertEquals(-4, first.getNetDelta());
+        assertEquals(3, first.getCoalescedEvents());
+        assertEquals(10, second.getNetDelta());
+        assertEquals(4, meterRegistry.counter("stock.events.received").count());
+        assertEquals(2, meterRegistry.counter("stock.events.emitted").count());
+        assertEquals(0, meterRegistry.get("stock.events.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not publish products whose changes cancel out")
+    void flush_WithZeroNetChange_ShouldSuppressEvent() {
+        // Arrange
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RESERVED", 5, -5));
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RELEASED", 10, 5));
+
+        // Act
+        coalescer.flush();
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(1, meterRegistry.counter("stock.events.suppressed").count());
+    }
+
+    @Test
+    @DisplayName("Should close the window early on the flush thread once the batch size is reached")
+    void onStockEvent_WhenBatchIsFull_ShouldFlushImmediately() {
+        // Arrange
+        coalescer = new ProductStockEventCoalescer(eventPublisher, meterRegistry, 2);
+
+        // Act
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RESERVED", 9, -1));
+        coalescer.onStockEvent(new ProductStockEvent(this, 1L, "RESERVED", 8, -1));
+
+        // Assert
+        verify(eventPublisher, timeout(1000)).publishEvent(any(ProductStockDeltaEvent.class));
+        coalescer.flush();
+        verifyNoMoreInteractions(eventPublisher);
+    }
+}
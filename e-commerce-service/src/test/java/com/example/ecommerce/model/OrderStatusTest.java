@@ -0,0 +1,39 @@
+package com.example.ecommerce.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusTest {
+
+    @Test
+    @DisplayName("Should allow only the transitions declared in the table")
+    void canTransitionTo_ShouldFollowTransitionTable() {
+        assertTrue(OrderStatus.CREATED.canTransitionTo(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED));
+        assertFalse(OrderStatus.CREATED.canTransitionTo(OrderStatus.SHIPPED));
+        assertFalse(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.COMPLETED.nextStatuses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should derive the statuses an order may enter a status from")
+    void previousStatuses_ShouldInvertTransitionTable() {
+        assertEquals(EnumSet.of(OrderStatus.CREATED, OrderStatus.CONFIRMED, OrderStatus.PAYMENT_PENDING,
+            OrderStatus.PROCESSING), OrderStatus.CANCELLED.previousStatuses());
+        assertEquals(EnumSet.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED), OrderStatus.RETURNED.previousStatuses());
+        assertTrue(OrderStatus.CREATED.previousStatuses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an undeclared transition when updating an order")
+    void updateStatus_WithUndeclaredTransition_ShouldThrow() {
+        Order order = new Order();
+
+        assertThrows(IllegalStateException.class, () -> order.updateStatus(OrderStatus.DELIVERED));
+        assertEquals(OrderStatus.CREATED, order.getStatus());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ecommerce.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderTest {
+
+    @Test
+    @DisplayName("Should keep the total current as items are added and removed")
+    void addAndRemoveItem_ShouldMaintainTotalIncrementally() {
+        // Arrange
+        Order order = new Order();
+        order.setShippingCost(new BigDecimal("4.95"));
+        order.setTaxAmount(new BigDecimal("1.10"));
+        OrderItem first = item("19.99", 2);
+        OrderItem second = item("0.05", 3);
+
+        // Act
+        order.addItem(first);
+        order.addItem(second);
+        BigDecimal withBoth = order.getTotalAmount();
+        order.removeItem(first);
+
+        // Assert
+        assertEquals(new BigDecimal("46.18"), withBoth);
+        assertEquals(new BigDecimal("6.20"), order.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Should pick up in-place item changes on explicit recalculation")
+    void recalculateTotal_AfterQuantityChange_ShouldRecomputeFromItems() {
+        // Arrange
+        Order order = new Order();
+        OrderItem item = item("10.00", 1);
+        order.addItem(item);
+
+        // Act
+        item.setQuantity(3);
+        order.recalculateTotal();
+
+        // Assert
+        assertEquals(new BigDecimal("30.00"), order.getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Should recompute from the loaded items on the first change after loading")
+    void addItem_AfterLoad_ShouldRecomputeOnce() {
+        // Arrange
+        Order order = new Order();
+        order.getItems().add(item("5.00", 2));
+        order.markItemsTotalUnknown();
+
+        // Act
+        order.addItem(item("1.50", 1));
+
+        // Assert
+        assertEquals(new BigDecimal("11.50"), order.getTotalAmount());
+    }
+
+    private static OrderItem item(String unitPrice, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        item.setQuantity(quantity);
+        return item;
+    }
+}
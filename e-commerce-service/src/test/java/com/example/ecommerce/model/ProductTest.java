@@ -0,0 +1,27 @@
+package com.example.ecommerce.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductTest {
+
+    @Test
+    @DisplayName("Should add the review to the cascaded reviews and update the rating aggregates")
+    void addReview_ShouldLinkReviewAndUpdateAggregates() {
+        // Arrange
+        Product product = new Product();
+        ProductReview review = new ProductReview();
+        review.setRating(4);
+
+        // Act
+        product.addReview(review);
+
+        // Assert
+        assertSame(product, review.getProduct());
+        assertTrue(product.getReviews().contains(review));
+        assertEquals(1, product.getTotalReviews());
+        assertEquals(4.0, product.getAverageRating());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.ecommerce.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send off the calling thread and record latency per type")
+    void dispatch_ShouldSendAsynchronouslyAndRecordLatency() throws InterruptedException {
+        // Arrange
+        dispatcher = newDispatcher(NotificationProperties.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch sent = new CountDownLatch(1);
+        AtomicReference<Thread> senderThread = new AtomicReference<>();
+
+        // Act
+        dispatcher.dispatch(NotificationType.ORDER_CREATED, () -> {
+            senderThread.set(Thread.currentThread());
+            sent.countDown();
+        });
+
+        // Assert
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), senderThread.get());
+        dispatcher.shutdown();
+        assertEquals(1, meterRegistry.get("notifications.latency")
+            .tags("type", "ORDER_CREATED", "outcome", "success").timer().count());
+        assertEquals(0, meterRegistry.get("notifications.queue.depth").tag("type", "ORDER_CREATED").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should count failed sends without propagating the error")
+    void dispatch_WithFailingSender_ShouldRecordFailure() {
+        // Arrange
+        dispatcher = newDispatcher(NotificationProperties.RejectionPolicy.CALLER_RUNS);
+
+        // Act
+        dispatcher.dispatch(NotificationType.SHIPPED, () -> {
+            throw new IllegalStateException("SMTP unavailable");
+        });
+        dispatcher.shutdown();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("notifications.latency")
+            .tags("type", "SHIPPED", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should drop and count notifications once the queue is full")
+    void dispatch_WithFullQueueAndDiscardPolicy_ShouldDropNewest() throws InterruptedException {
+        // Arrange
+        dispatcher = newDispatcher(NotificationProperties.RejectionPolicy.DISCARD);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(NotificationType.PAYMENT_CONFIRMED, () -> {
+            blocked.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(NotificationType.PAYMENT_CONFIRMED, () -> { });
+
+        // Act
+        dispatcher.dispatch(NotificationType.PAYMENT_CONFIRMED, () -> fail("Dropped notification must not be sent"));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("notifications.queue.depth").tag("type", "PAYMENT_CONFIRMED").gauge().value());
+        assertEquals(1, meterRegistry.get("notifications.rejected").tag("type", "PAYMENT_CONFIRMED").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should throw to the caller when the queue is full and the policy is ABORT")
+    void dispatch_WithFullQueueAndAbortPolicy_ShouldThrow() throws InterruptedException {
+        // Arrange
+        dispatcher = newDispatcher(NotificationProperties.RejectionPolicy.ABORT);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(NotificationType.DELIVERED, () -> {
+            blocked.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(NotificationType.DELIVERED, () -> { });
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class,
+            () -> dispatcher.dispatch(NotificationType.DELIVERED, () -> { }));
+        assertEquals(1, meterRegistry.get("notifications.queue.depth").tag("type", "DELIVERED").gauge().value());
+        release.countDown();
+    }
+
+    private NotificationDispatcher newDispatcher(NotificationProperties.RejectionPolicy policy) {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setConcurrency(1);
+        properties.setQueueCapacity(1);
+        properties.setRejectionPolicy(policy);
+        return new NotificationDispatcher(properties, meterRegistry);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
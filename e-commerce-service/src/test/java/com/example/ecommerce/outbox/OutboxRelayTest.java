@@ -0,0 +1,185 @@
+package com.example.ecommerce.outbox;
+
+import com.example.ecommerce.model.OutboxEvent;
+import com.example.ecommerce.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final long CONFIRM_TIMEOUT_MILLIS = 100;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionManager, "ecommerce.events",
+            BATCH_SIZE, 10, CONFIRM_TIMEOUT_MILLIS, MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("Should publish locked events and delete them until the outbox is drained")
+    void relay_WithPendingEvents_ShouldPublishAndDeleteInBatches() {
+        // Arrange
+        List<OutboxEvent> firstBatch = List.of(event(1L, "ORDER", "ORDER_CREATED"), event(2L, "PRODUCT", "RESERVED"));
+        List<OutboxEvent> secondBatch = List.of(event(3L, "ORDER", "ORDER_CANCELLED"));
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(firstBatch, secondBatch);
+        brokerAcksEverything();
+
+        // Act
+        int relayed = relay.relay();
+
+        // Assert
+        assertEquals(3, relayed);
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("ecommerce.events"), eq("order.order_created"), message.capture(),
+            any(CorrelationData.class));
+        assertEquals("1", message.getValue().getMessageProperties().getMessageId());
+        assertEquals("application/json", message.getValue().getMessageProperties().getContentType());
+        verify(rabbitTemplate).send(eq("ecommerce.events"), eq("product.reserved"), any(Message.class),
+            any(CorrelationData.class));
+        verify(rabbitTemplate).send(eq("ecommerce.events"), eq("order.order_cancelled"), any(Message.class),
+            any(CorrelationData.class));
+        verify(outboxEventRepository).deleteAllInBatch(firstBatch);
+        verify(outboxEventRepository).deleteAllInBatch(secondBatch);
+        verify(outboxEventRepository, times(2)).lockNextBatch(BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should keep events in the outbox when the broker is unavailable")
+    void relay_WhenPublishFails_ShouldRollBackAndKeepEvents() {
+        // Arrange
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1L, "ORDER", "ORDER_CREATED")));
+        doThrow(new AmqpException("Connection refused"))
+            .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        int relayed = relay.relay();
+
+        // Assert
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should delete only the events the broker acked")
+    void relay_WhenBrokerNacksAnEvent_ShouldKeepItInTheOutbox() {
+        // Arrange
+        OutboxEvent acked = event(1L, "ORDER", "ORDER_CREATED");
+        OutboxEvent nacked = event(2L, "ORDER", "ORDER_CANCELLED");
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(acked, nacked));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = !correlation.getId().equals("2");
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "reject-publish"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        int relayed = relay.relay();
+
+        // Assert: a partly confirmed batch ends the poll, so the nacked event waits for the next one
+        assertEquals(1, relayed);
+        verify(outboxEventRepository).deleteAllInBatch(List.of(acked));
+        verify(outboxEventRepository, times(1)).lockNextBatch(BATCH_SIZE);
+        assertEquals(1, nacked.getAttempts());
+        assertNull(nacked.getParkedAt());
+    }
+
+    @Test
+    @DisplayName("Should park unroutable events and count an attempt for unconfirmed ones")
+    void relay_WhenEventIsUnroutableOrUnconfirmed_ShouldParkOrRetry() {
+        // Arrange
+        OutboxEvent unroutable = event(1L, "ORDER", "ORDER_CREATED");
+        OutboxEvent unconfirmed = event(2L, "ORDER", "ORDER_CANCELLED");
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(unroutable, unconfirmed));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            if (correlation.getId().equals("1")) {
+                correlation.setReturned(new ReturnedMessage(invocation.getArgument(2), 312, "NO_ROUTE",
+                    invocation.getArgument(0), invocation.getArgument(1)));
+                correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            }
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        int relayed = relay.relay();
+
+        // Assert
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        assertNotNull(unroutable.getParkedAt());
+        assertTrue(unroutable.getLastError().startsWith("Unroutable"));
+        assertNull(unconfirmed.getParkedAt());
+        assertEquals(1, unconfirmed.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should park an event once it runs out of attempts")
+    void relay_WhenEventKeepsBeingNacked_ShouldParkAfterMaxAttempts() {
+        // Arrange
+        OutboxEvent event = event(1L, "ORDER", "ORDER_CREATED");
+        event.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(false, "reject-publish"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        int relayed = relay.relay();
+
+        // Assert
+        assertEquals(0, relayed);
+        assertEquals(MAX_ATTEMPTS, event.getAttempts());
+        assertNotNull(event.getParkedAt());
+    }
+
+    private void brokerAcksEverything() {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static OutboxEvent event(Long id, String aggregateType, String eventType) {
+        OutboxEvent event = new OutboxEvent(aggregateType, id, eventType, "{}");
+        event.setId(id);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ecommerce.performance;
+
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.service.impl.ProductServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("performance")
+class StockReservationScalingTest {
+
+    private static final int THREADS = 8;
+    private static final int RESERVATIONS_PER_THREAD = 200;
+    private static final long SIMULATED_DB_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<Long, Product> products = new ConcurrentHashMap<>();
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(anyLong())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(SIMULATED_DB_LATENCY_NANOS);
+            return Optional.ofNullable(products.get(invocation.<Long>getArgument(0)));
+        });
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApplicationEventPublisher eventPublisher = event -> { };
+        // Reservations only use the repository and the event publisher
+        productService = new ProductServiceImpl(productRepository, eventPublisher,
+            null,  // inventoryLedger: only consulted in LEDGER reservation mode
+            null,  // productTagIndex: only used by tag filters
+            null); // priceIndex: only used by price filters and histograms
+
+        for (long id = 1; id <= THREADS; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Scaling Test Product " + id);
+            product.setPrice(new BigDecimal("9.99"));
+            product.setStockQuantity(2 * THREADS * RESERVATIONS_PER_THREAD);
+            products.put(id, product);
+        }
+    }
+
+    @Test
+    @DisplayName("Reservation throughput should scale with the number of distinct products")
+    void reserveStock_AcrossDistinctProducts_ShouldScale() throws InterruptedException {
+        // Act
+        double singleProductThroughput = measureThroughput(1);
+        double distinctProductThroughput = measureThroughput(THREADS);
+
+        // Assert
+        assertTrue(distinctProductThroughput >= singleProductThroughput * 3,
+            "Throughput across " + THREADS + " products (" + distinctProductThroughput + " ops/s) should be well above "
+                + "single product throughput (" + singleProductThroughput + " ops/s)");
+    }
+
+    private double measureThroughput(int distinctProducts) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch endLatch = new CountDownLatch(THREADS);
+        AtomicLong successfulReservations = new AtomicLong();
+
+        for (int i = 0; i < THREADS; i++) {
+            final long productId = 1 + (i % distinctProducts);
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int j = 0; j < RESERVATIONS_PER_THREAD; j++) {
+                        if (productService.reserveStock(productId, 1)) {
+                            successfulReservations.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    endLatch.countDown();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        startLatch.countDown();
+        boolean completed = endLatch.await(2, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+
+        assertTrue(completed, "All reservations should complete within timeout");
+        return successfulReservations.get() * 1_000_000_000.0 / elapsed;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ecommerce.related;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RelatedProductsCalculatorTest {
+
+    private static final RelatedProductsCalculator.Weights WEIGHTS = new RelatedProductsCalculator.Weights(1.0, 2.0, 0.25);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank co-purchases above shared tags and use category to break ties")
+    void compute_ShouldCombineSignals() {
+        // Arrange
+        CatalogGraph graph = CatalogGraph.builder()
+            .addProduct(1L, 10L)
+            .addProduct(2L, 10L)
+            .addProduct(3L, 20L)
+            .addProduct(4L, 20L)
+            .addProduct(5L, null)
+            .addTag(1L, 100L).addTag(2L, 100L).addTag(3L, 100L)
+            .addTag(4L, 200L)
+            .addPurchases(1L, 4).addPurchases(4L, 4)
+            .addCoPurchase(1L, 4L, 4).addCoPurchase(4L, 1L, 4)
+            .build();
+
+        // Act
+        RelatedProductsTable table = new RelatedProductsCalculator(10, WEIGHTS, 1000).compute(graph, pool);
+
+        // Assert
+        assertArrayEquals(new long[]{4L, 2L, 3L}, table.relatedIds(1L));
+        assertArrayEquals(new long[]{1L, 3L}, table.relatedIds(2L));
+        assertArrayEquals(new long[]{1L}, table.relatedIds(4L));
+        assertArrayEquals(new long[0], table.relatedIds(5L));
+        assertEquals(8, table.rowCount());
+    }
+
+    @Test
+    @DisplayName("Should keep only the top K, preferring newer products on equal scores")
+    void compute_WithMoreCandidatesThanK_ShouldKeepBest() {
+        // Arrange
+        CatalogGraph.Builder builder = CatalogGraph.builder();
+        for (long id = 1; id <= 1000; id++) {
+            builder.addProduct(id, null).addTag(id, 1L);
+        }
+
+        // Act
+        RelatedProductsTable table = new RelatedProductsCalculator(3, WEIGHTS, 1000).compute(builder.build(), pool);
+
+        // Assert
+        assertArrayEquals(new long[]{1000L, 999L, 998L}, table.relatedIds(1L));
+        assertArrayEquals(new long[]{999L, 998L, 997L}, table.relatedIds(1000L));
+        assertEquals(3000, table.rowCount());
+    }
+
+    @Test
+    @DisplayName("Should ignore tags shared by more products than the limit")
+    void compute_WithOverlyCommonTag_ShouldSkipIt() {
+        // Arrange
+        CatalogGraph graph = CatalogGraph.builder()
+            .addProduct(1L, null).addProduct(2L, null).addProduct(3L, null)
+            .addTag(1L, 1L).addTag(2L, 1L).addTag(3L, 1L)
+            .addTag(1L, 2L).addTag(2L, 2L)
+            .build();
+
+        // Act
+        RelatedProductsTable table = new RelatedProductsCalculator(10, WEIGHTS, 2).compute(graph, pool);
+
+        // Assert
+        assertArrayEquals(new long[]{2L}, table.relatedIds(1L));
+        assertArrayEquals(new long[0], table.relatedIds(3L));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.test.BaseIntegrationTest;
+import com.example.ecommerce.test.QueryCountInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains the SQL Hibernate generates for the keyset queries and checks that the keyset
+ * position is an index condition, so deep pages do not walk and filter every newer row.
+ */
+class KeysetPaginationPlanTest extends BaseIntegrationTest {
+
+    private static final LocalDateTime POSITION_CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long POSITION_ID = 1_000L;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Test tables are tiny; make the planner show how it would use the index at scale
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    @DisplayName("Should bound the order keyset scan by the position in the index condition")
+    void findKeysetPageByUserId_ShouldUsePositionAsIndexCondition() {
+        // Act
+        orderRepository.findKeysetPageByUserId(1L, POSITION_CREATED_AT, POSITION_ID, PageRequest.ofSize(PAGE_SIZE));
+        List<String> plan = explainLastStatement(1L, POSITION_CREATED_AT, POSITION_ID);
+
+        // Assert
+        assertIndexConditionOnPosition(plan);
+    }
+
+    @Test
+    @DisplayName("Should bound the product keyset scan by the position in the index condition")
+    void searchKeysetPage_ShouldUsePositionAsIndexCondition() {
+        // Act
+        productRepository.searchKeysetPage("", POSITION_CREATED_AT, POSITION_ID, PageRequest.ofSize(PAGE_SIZE));
+        List<String> plan = explainLastStatement("", "", POSITION_CREATED_AT, POSITION_ID);
+
+        // Assert
+        assertIndexConditionOnPosition(plan);
+    }
+
+    // Binds the given values to the leading placeholders and the page size to the rest (row limit)
+    private List<String> explainLastStatement(Object... leadingArgs) {
+        String sql = QueryCountInspector.lastStatement();
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] args = Arrays.copyOf(leadingArgs, placeholders);
+        Arrays.fill(args, leadingArgs.length, placeholders, PAGE_SIZE);
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+    }
+
+    private static void assertIndexConditionOnPosition(List<String> plan) {
+        assertTrue(plan.stream().anyMatch(line -> line.contains("Index Cond") && line.contains("created_at")),
+            () -> "Keyset position is not an index condition:\n" + String.join("\n", plan));
+    }
+}
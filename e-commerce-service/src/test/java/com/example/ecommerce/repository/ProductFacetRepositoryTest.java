@@ -0,0 +1,99 @@
+package com.example.ecommerce.repository;
+
+import com.example.ecommerce.dto.ProductFacets;
+import com.example.ecommerce.dto.ProductFilter;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.test.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductFacetRepositoryTest extends BaseIntegrationTest {
+
+    // Priced above any fixture product, so a minimum price isolates this test's rows
+    private static final BigDecimal FLOOR = new BigDecimal("1000");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        save("1004.99", 5, true);
+        save("1009.99", 0, true);
+        save("1025.00", 3, true);
+        save("1120.00", 1, true);
+        save("1015.00", 8, false);
+    }
+
+    @Test
+    @DisplayName("Should count active products in total and per price bucket")
+    void countFacets_ShouldCountTotalAndPriceBuckets() {
+        // Arrange
+        List<BigDecimal> bounds = List.of(new BigDecimal("1005"), new BigDecimal("1020"), new BigDecimal("1100"));
+        ProductFilter filter = new ProductFilter(FLOOR, null, null, null, false, null);
+
+        // Act
+        ProductFacets facets = productRepository.countFacets(filter, bounds);
+
+        // Assert
+        assertEquals(4, facets.total());
+        assertEquals(List.of(
+                new ProductFacets.PriceBucket(new BigDecimal("1005"), new BigDecimal("1020"), 1),
+                new ProductFacets.PriceBucket(new BigDecimal("1020"), new BigDecimal("1100"), 1),
+                new ProductFacets.PriceBucket(new BigDecimal("1100"), null, 1)),
+            facets.priceBuckets());
+    }
+
+    @Test
+    @DisplayName("Should apply the filter before counting")
+    void countFacets_WithFilter_ShouldCountMatchesOnly() {
+        // Act
+        ProductFacets facets = productRepository.countFacets(
+            new ProductFilter(new BigDecimal("1005"), null, null, null, true, null), List.of());
+
+        // Assert
+        assertEquals(2, facets.total());
+        assertEquals(List.of(), facets.priceBuckets());
+    }
+
+    @Test
+    @DisplayName("Should count active products per half-open price bucket")
+    void countPriceHistogram_ShouldPutBoundaryPricesInTheUpperBucket() {
+        // Arrange
+        List<BigDecimal> bounds = List.of(FLOOR, new BigDecimal("1009.99"), new BigDecimal("1100"));
+
+        // Act
+        int[] counts = productRepository.countPriceHistogram(bounds);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 2, 1}, counts);
+    }
+
+    @Test
+    @DisplayName("Should normalize tag case and order, and price scale, in the cache key")
+    void cacheKey_ShouldNormalizeEquivalentFilters() {
+        // Act & Assert
+        assertEquals(
+            ProductFacets.cacheKey(new ProductFilter(new BigDecimal("10.00"), null, 3L, List.of("Coffee", "kitchen"), true, null),
+                List.of(new BigDecimal("5.0"))),
+            ProductFacets.cacheKey(new ProductFilter(new BigDecimal("10"), null, 3L, List.of("KITCHEN", " coffee"), true, null),
+                List.of(new BigDecimal("5"))));
+    }
+
+    private void save(String price, int stock, boolean active) {
+        Product product = new Product();
+        product.setName("Facet Test " + price);
+        product.setDescription("Facet test product");
+        product.setPrice(new BigDecimal(price));
+        product.setStockQuantity(stock);
+        product.setActive(active);
+        productRepository.save(product);
+    }
+}
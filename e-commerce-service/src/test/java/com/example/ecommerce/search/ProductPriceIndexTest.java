@@ -0,0 +1,55 @@
+package com.example.ecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex(mock(DataSource.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(index, "sortedCents", new long[]{499, 999, 999, 1000, 2500, 4999, 10000});
+    }
+
+    @Test
+    @DisplayName("Should count prices in an inclusive range by binary search")
+    void count_ShouldIncludeBothBounds() {
+        // Act & Assert
+        assertEquals(4, index.count(new BigDecimal("9.99"), new BigDecimal("25.00")));
+        assertEquals(3, index.count(null, new BigDecimal("9.99")));
+        assertEquals(1, index.count(new BigDecimal("100"), null));
+        assertEquals(0, index.count(new BigDecimal("50"), new BigDecimal("10")));
+        assertEquals(7, index.count(null, null));
+    }
+
+    @Test
+    @DisplayName("Should bucket prices from each lower bound up to the next")
+    void histogram_ShouldCountEachBucket() {
+        // Act
+        int[] counts = index.histogram(new BigDecimal("0"), new BigDecimal("10"), new BigDecimal("50"));
+
+        // Assert
+        assertArrayEquals(new int[]{3, 3, 1}, counts);
+    }
+
+    @Test
+    @DisplayName("Should round prices to whole cents")
+    void toCents_ShouldRoundHalfUp() {
+        // Act & Assert
+        assertEquals(1000, ProductPriceIndex.toCents(new BigDecimal("10")));
+        assertEquals(1000, ProductPriceIndex.toCents(new BigDecimal("9.995")));
+        assertEquals(999, ProductPriceIndex.toCents(new BigDecimal("9.99")));
+    }
+}
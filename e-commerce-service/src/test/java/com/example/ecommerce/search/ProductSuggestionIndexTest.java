@@ -0,0 +1,87 @@
+package com.example.ecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class ProductSuggestionIndexTest {
+
+    private ProductSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestionIndex(mock(DataSource.class), mock(PlatformTransactionManager.class));
+        Map<String, RoaringBitmap> products = new TreeMap<>();
+        ProductSuggestionIndex.add(products, 1L, "Espresso Machine");
+        ProductSuggestionIndex.add(products, 1L, "coffee");
+        ProductSuggestionIndex.add(products, 2L, "Wireless Earbuds");
+        ProductSuggestionIndex.add(products, 3L, "Espresso Cups, set of 2");
+        ProductSuggestionIndex.add(products, 3L, "coffee");
+        index.replace(List.of(1L, 2L, 3L), products);
+    }
+
+    @Test
+    @DisplayName("Should match word prefixes in names and tags, newest first")
+    void suggest_WithPrefix_ShouldReturnNewestFirst() {
+        // Act & Assert
+        assertEquals(List.of(3L, 1L), index.suggest("ESP", 10));
+        assertEquals(List.of(3L, 1L), index.suggest("cof", 10));
+        assertEquals(List.of(2L), index.suggest("ear", 10));
+        assertEquals(List.of(3L), index.suggest("esp", 1));
+        assertEquals(List.of(), index.suggest("   ", 10));
+    }
+
+    @Test
+    @DisplayName("Should require every query word to match")
+    void suggest_WithSeveralWords_ShouldIntersect() {
+        // Act & Assert
+        assertEquals(List.of(1L), index.suggest("espresso mach", 10));
+        assertEquals(List.of(3L), index.suggest("coffee cu", 10));
+        assertEquals(List.of(), index.suggest("espresso ear", 10));
+    }
+
+    @Test
+    @DisplayName("Should drop the old words of a reloaded product and remove deactivated ones")
+    void replace_ShouldReindexChangedProducts() {
+        // Arrange
+        Map<String, RoaringBitmap> reloaded = new TreeMap<>();
+        ProductSuggestionIndex.add(reloaded, 1L, "Lungo Machine");
+
+        // Act
+        // Product 3 is absent from the reload, as an inactive or deleted product would be
+        index.replace(List.of(1L, 3L), reloaded);
+
+        // Assert
+        assertEquals(List.of(), index.suggest("esp", 10));
+        assertEquals(List.of(), index.suggest("coffee", 10));
+        assertEquals(List.of(1L), index.suggest("lun", 10));
+        assertEquals(List.of(2L), index.suggest("wire", 10));
+        assertEquals(4, index.wordCount());
+    }
+
+    @Test
+    @DisplayName("Should keep the names of reloaded products and drop deactivated ones")
+    void replaceNames_ShouldTrackReloadedProducts() {
+        // Arrange
+        index.replaceNames(List.of(1L, 2L), Map.of(1L, "Espresso Machine", 2L, "Wireless Earbuds"));
+
+        // Act
+        // Product 2 is absent from the reload, as an inactive or deleted product would be
+        index.replaceNames(List.of(1L, 2L), Map.of(1L, "Lungo Machine"));
+
+        // Assert
+        assertEquals("Lungo Machine", index.name(1L));
+        assertNull(index.name(2L));
+    }
+}
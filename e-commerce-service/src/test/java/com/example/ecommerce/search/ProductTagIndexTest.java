@@ -0,0 +1,80 @@
+package com.example.ecommerce.search;
+
+import com.example.ecommerce.service.TagMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ProductTagIndexTest {
+
+    private ProductTagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductTagIndex(mock(DataSource.class), mock(PlatformTransactionManager.class));
+        Map<String, RoaringBitmap> tags = new HashMap<>();
+        ProductTagIndex.add(tags, 1L, "Coffee");
+        ProductTagIndex.add(tags, 1L, "Kitchen");
+        ProductTagIndex.add(tags, 2L, "coffee");
+        ProductTagIndex.add(tags, 3L, "Kitchen");
+        ProductTagIndex.add(tags, 4L, "coffee");
+        ProductTagIndex.add(tags, 4L, "kitchen");
+        index.replace(List.of(1L, 2L, 3L, 4L), tags);
+    }
+
+    @Test
+    @DisplayName("Should intersect tags case-insensitively for ALL")
+    void match_WithAll_ShouldIntersect() {
+        // Act & Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 4), index.match(List.of("COFFEE", " kitchen "), TagMatch.ALL));
+        assertEquals(RoaringBitmap.bitmapOf(), index.match(List.of("coffee", "garden"), TagMatch.ALL));
+    }
+
+    @Test
+    @DisplayName("Should union tags for ANY and ignore unknown ones")
+    void match_WithAny_ShouldUnion() {
+        // Act & Assert
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3, 4), index.match(List.of("coffee", "kitchen", "garden"), TagMatch.ANY));
+        assertEquals(RoaringBitmap.bitmapOf(), index.match(List.of(" "), TagMatch.ANY));
+    }
+
+    @Test
+    @DisplayName("Should page from the newest product")
+    void page_ShouldWalkIdsDescending() {
+        // Arrange
+        RoaringBitmap matches = RoaringBitmap.bitmapOf(1, 2, 3, 4, 5);
+
+        // Act & Assert
+        assertEquals(List.of(5L, 4L), ProductTagIndex.page(matches, 0, 2));
+        assertEquals(List.of(1L), ProductTagIndex.page(matches, 4, 2));
+        assertEquals(List.of(), ProductTagIndex.page(matches, 6, 2));
+    }
+
+    @Test
+    @DisplayName("Should replace the tags of reloaded products")
+    void replace_ShouldReindexChangedProducts() {
+        // Arrange
+        RoaringBitmap before = index.match(List.of("coffee"), TagMatch.ALL);
+        Map<String, RoaringBitmap> reloaded = new HashMap<>();
+        ProductTagIndex.add(reloaded, 4L, "garden");
+
+        // Act
+        index.replace(List.of(1L, 4L), reloaded);
+
+        // Assert
+        assertEquals(RoaringBitmap.bitmapOf(2), index.match(List.of("coffee"), TagMatch.ALL));
+        assertEquals(RoaringBitmap.bitmapOf(3), index.match(List.of("kitchen"), TagMatch.ANY));
+        assertEquals(RoaringBitmap.bitmapOf(4), index.match(List.of("garden"), TagMatch.ALL));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 4), before);
+    }
+}
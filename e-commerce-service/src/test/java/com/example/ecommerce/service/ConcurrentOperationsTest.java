@@ -1,5 +1,6 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.dto.ProductSnapshot;
 import com.example.ecommerce.model.Product;
 import com.example.ecommerce.repository.ProductRepository;
 import com.example.ecommerce.test.BaseIntegrationTest;
@@ -7,6 +8,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.math.BigDecimal;
@@ -18,6 +21,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @Sql("/data/products.sql")
 class ConcurrentOperationsTest extends BaseIntegrationTest {
@@ -28,6 +32,9 @@ class ConcurrentOperationsTest extends BaseIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     private Product testProduct;
     private static final int THREAD_COUNT = 10;
     private static final int STOCK_DECREASE_PER_THREAD = 2;
@@ -132,10 +139,10 @@ class ConcurrentOperationsTest extends BaseIntegrationTest {
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
         CountDownLatch startLatch = new CountDownLatch(1);
         CountDownLatch endLatch = new CountDownLatch(THREAD_COUNT);
-        List<Product> retrievedProducts = new ArrayList<>();
+        List<ProductSnapshot> retrievedProducts = new ArrayList<>();
 
         // Prime the cache
-        productService.getProduct(testProduct.getId());
+        productService.getProductSnapshot(testProduct.getId());
 
         // Act
         for (int i = 0; i < THREAD_COUNT; i++) {
@@ -147,7 +154,7 @@ class ConcurrentOperationsTest extends BaseIntegrationTest {
                     testProduct.setStockQuantity(updateValue);
                     Product updated = productService.updateProduct(testProduct.getId(), testProduct);
                     // Read product (should be from cache)
-                    productService.getProduct(testProduct.getId())
+                    productService.getProductSnapshot(testProduct.getId())
                         .ifPresent(retrievedProducts::add);
                 } catch (Exception e) {
                     // Log exception
@@ -166,9 +173,48 @@ class ConcurrentOperationsTest extends BaseIntegrationTest {
             "All threads should retrieve a product");
 
         // Verify cache consistency
-        Product finalCachedProduct = productService.getProduct(testProduct.getId()).orElseThrow();
+        ProductSnapshot finalCachedProduct = productService.getProductSnapshot(testProduct.getId()).orElseThrow();
         Product finalDbProduct = productRepository.findById(testProduct.getId()).orElseThrow();
-        assertEquals(finalDbProduct.getStockQuantity(), finalCachedProduct.getStockQuantity(),
+        assertEquals(finalDbProduct.getName(), finalCachedProduct.name(),
             "Cache and DB should be consistent");
+        assertEquals(finalDbProduct.getStockQuantity(), productService.getStockQuantity(testProduct.getId()),
+            "Cache and DB should be consistent");
+    }
+
+    @Test
+    @DisplayName("Should serve current stock during reservations without evicting the cached product")
+    void concurrentReservations_ShouldKeepStockCurrentAndSnapshotCached() throws InterruptedException {
+        // Arrange
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch endLatch = new CountDownLatch(THREAD_COUNT);
+        Cache productsCache = cacheManager.getCache("products");
+        productService.getProductSnapshot(testProduct.getId());
+
+        // Act
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    productService.reserveStock(testProduct.getId(), STOCK_DECREASE_PER_THREAD);
+                } catch (Exception e) {
+                    // Log exception
+                } finally {
+                    endLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        endLatch.await(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Assert
+        assertNotNull(productsCache.get(testProduct.getId()),
+            "Stock reservations should not evict the cached product");
+        Product finalDbProduct = productRepository.findById(testProduct.getId()).orElseThrow();
+        assertEquals(0, finalDbProduct.getStockQuantity());
+        assertEquals(finalDbProduct.getStockQuantity(), productService.getStockQuantity(testProduct.getId()),
+            "Stock served to the storefront should match the database");
     }
 }
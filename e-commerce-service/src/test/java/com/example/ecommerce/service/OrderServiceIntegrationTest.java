@@ -0,0 +1,110 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.model.Order;
+import com.example.ecommerce.model.OrderStatus;
+import com.example.ecommerce.model.User;
+import com.example.ecommerce.notification.NotificationDispatcher;
+import com.example.ecommerce.notification.NotificationType;
+import com.example.ecommerce.repository.OrderRepository;
+import com.example.ecommerce.repository.UserRepository;
+import com.example.ecommerce.test.BaseIntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderServiceIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private NotificationDispatcher notificationDispatcher;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("warehouse");
+        user.setEmail("warehouse@example.com");
+        user.setPassword("password");
+        user.setEnabled(true);
+        testUser = userRepository.save(user);
+    }
+
+    @Test
+    @DisplayName("Should move only orders allowed to enter the status and run its side effects once each")
+    void updateOrderStatus_WithMixedTransitions_ShouldUpdateValidOrdersOnly() {
+        // Arrange
+        Order first = saveOrder(OrderStatus.PROCESSING);
+        Order second = saveOrder(OrderStatus.PROCESSING);
+        Order notPaid = saveOrder(OrderStatus.CREATED);
+        long missingId = notPaid.getId() + 1000;
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Long> updated = orderService.updateOrderStatus(
+            List.of(second.getId(), notPaid.getId(), first.getId(), missingId, second.getId()), OrderStatus.SHIPPED);
+
+        // Assert
+        assertEquals(Set.of(first.getId(), second.getId()), Set.copyOf(updated));
+        assertEquals(2, updated.size());
+        entityManager.clear();
+        Order shipped = orderRepository.findById(first.getId()).orElseThrow();
+        assertEquals(OrderStatus.SHIPPED, shipped.getStatus());
+        assertEquals(first.getVersion() + 1, shipped.getVersion());
+        assertEquals(OrderStatus.CREATED, orderRepository.findById(notPaid.getId()).orElseThrow().getStatus());
+        verify(notificationDispatcher, times(2)).dispatch(eq(NotificationType.SHIPPED), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should stamp completedAt when orders enter a completing status in bulk")
+    void updateOrderStatus_ToDelivered_ShouldStampCompletedAt() {
+        // Arrange
+        Order order = saveOrder(OrderStatus.SHIPPED);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        orderService.updateOrderStatus(List.of(order.getId()), OrderStatus.DELIVERED);
+
+        // Assert
+        entityManager.clear();
+        Order delivered = orderRepository.findById(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.DELIVERED, delivered.getStatus());
+        assertNotNull(delivered.getCompletedAt());
+        verify(notificationDispatcher).dispatch(eq(NotificationType.DELIVERED), any(Runnable.class));
+    }
+
+    private Order saveOrder(OrderStatus status) {
+        Order order = new Order();
+        order.setUser(testUser);
+        order.setStatus(status);
+        return orderRepository.save(order);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.ecommerce.service;
+
+import com.example.ecommerce.dto.ProductSuggestion;
+import com.example.ecommerce.model.Product;
+import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.search.ProductDocument;
+import com.example.ecommerce.search.ProductSuggestionIndex;
+import com.example.ecommerce.service.impl.ProductSearchServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @InjectMocks
+    private ProductSearchServiceImpl productSearchService;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @Test
+    @DisplayName("Should return products in relevance order")
+    @SuppressWarnings("unchecked")
+    void search_WithIndexAvailable_ShouldKeepRelevanceOrder() {
+        // Arrange
+        SearchHits<ProductDocument> hits = mock(SearchHits.class);
+        List<SearchHit<ProductDocument>> searchHits = List.of(hit(2L), hit(1L));
+        when(hits.getSearchHits()).thenReturn(searchHits);
+        when(hits.getTotalHits()).thenReturn(2L);
+        when(elasticsearchOperations.search(any(Query.class), eq(ProductDocument.class))).thenReturn(hits);
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product(1L), product(2L)));
+
+        // Act
+        Page<Product> result = productSearchService.search("espresso", pageable);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.map(Product::getId).getContent());
+        assertEquals(2, result.getTotalElements());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("Should fall back to database search and back off while the index is down")
+    void search_WithIndexUnavailable_ShouldFallBackAndBackOff() {
+        // Arrange
+        Page<Product> databaseResult = new PageImpl<>(List.of(product(1L)));
+        when(elasticsearchOperations.search(any(Query.class), eq(ProductDocument.class)))
+            .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(productService.searchProducts("espresso", pageable)).thenReturn(databaseResult);
+
+        // Act
+        Page<Product> first = productSearchService.search("espresso", pageable);
+        Page<Product> second = productSearchService.search("espresso", pageable);
+
+        // Assert
+        assertSame(databaseResult, first);
+        assertSame(databaseResult, second);
+        verify(elasticsearchOperations, times(1)).search(any(Query.class), eq(ProductDocument.class));
+    }
+
+    @Test
+    @DisplayName("Should list from the database when the query is blank")
+    void search_WithBlankQuery_ShouldUseDatabase() {
+        // Arrange
+        when(productService.searchProducts("", pageable)).thenReturn(Page.empty());
+
+        // Act
+        productSearchService.search(" ", pageable);
+
+        // Assert
+        verifyNoInteractions(elasticsearchOperations);
+    }
+
+    @Test
+    @DisplayName("Should suggest indexed names in index order without loading products")
+    void suggest_ShouldUseIndexedNamesAndSkipProductsBeingRemoved() {
+        // Arrange
+        when(productSuggestionIndex.suggest("esp", 10)).thenReturn(List.of(3L, 2L, 1L));
+        when(productSuggestionIndex.name(3L)).thenReturn("Espresso Cups");
+        when(productSuggestionIndex.name(2L)).thenReturn(null);
+        when(productSuggestionIndex.name(1L)).thenReturn("Espresso Machine");
+
+        // Act
+        List<ProductSuggestion> suggestions = productSearchService.suggest("esp", 10);
+
+        // Assert
+        assertEquals(List.of(new ProductSuggestion(3L, "Espresso Cups"), new ProductSuggestion(1L, "Espresso Machine")),
+            suggestions);
+        verifyNoInteractions(elasticsearchOperations, productRepository, productService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHit<ProductDocument> hit(Long id) {
+        ProductDocument document = new ProductDocument();
+        document.setId(id);
+        SearchHit<ProductDocument> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(document);
+        return hit;
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
@@ -1,24 +1,41 @@
 package com.example.ecommerce.service;
 
+import com.example.ecommerce.event.ProductChangedEvent;
+import com.example.ecommerce.event.ProductStockEvent;
 import com.example.ecommerce.exception.InsufficientStockException;
+import com.example.ecommerce.exception.ProductNotFoundException;
 import com.example.ecommerce.model.Product;
 import com.example.ecommerce.repository.ProductRepository;
+import com.example.ecommerce.search.ProductTagIndex;
 import com.example.ecommerce.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +47,9 @@ class ProductServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private ProductTagIndex productTagIndex;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -95,6 +115,279 @@ class ProductServiceTest {
             assertEquals(3, testProduct.getStockQuantity());
             verify(eventPublisher, times(2)).publishEvent(any());
         }
+
+        @Test
+        @DisplayName("Should publish a single event when releasing stock")
+        void releaseStock_ShouldPublishOneEvent() {
+            // Arrange
+            when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+            when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+            // Act
+            productService.releaseStock(1L, 4);
+
+            // Assert
+            assertEquals(14, testProduct.getStockQuantity());
+            verify(eventPublisher, times(1)).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Atomic Reservation Tests")
+    class AtomicReservationTests {
+
+        @BeforeEach
+        void enableAtomicMode() {
+            ReflectionTestUtils.setField(productService, "reservationMode", StockReservationMode.ATOMIC);
+        }
+
+        @Test
+        @DisplayName("Should reserve stock with a single conditional update")
+        void reserveStock_WithSufficientQuantity_ShouldUseConditionalUpdate() {
+            // Arrange
+            when(productRepository.decrementStockIfAvailable(1L, 5)).thenReturn(1);
+            when(productRepository.findStockQuantityById(1L)).thenReturn(Optional.of(5));
+
+            // Act
+            boolean result = productService.reserveStock(1L, 5);
+
+            // Assert
+            assertTrue(result);
+            verify(productRepository, never()).findById(anyLong());
+            verify(productRepository, never()).save(any());
+            ArgumentCaptor<ProductStockEvent> event = ArgumentCaptor.forClass(ProductStockEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertEquals(5, event.getValue().getQuantity());
+            assertEquals(-5, event.getValue().getDelta());
+        }
+
+        @Test
+        @DisplayName("Should reject reservation when the conditional update matches no row")
+        void reserveStock_WithInsufficientQuantity_ShouldReturnFalse() {
+            // Arrange
+            when(productRepository.decrementStockIfAvailable(1L, 15)).thenReturn(0);
+            when(productRepository.existsById(1L)).thenReturn(true);
+
+            // Act
+            boolean result = productService.reserveStock(1L, 15);
+
+            // Assert
+            assertFalse(result);
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when reserving stock for unknown product")
+        void reserveStock_WithUnknownProduct_ShouldThrowException() {
+            // Arrange
+            when(productRepository.decrementStockIfAvailable(anyLong(), anyInt())).thenReturn(0);
+            when(productRepository.existsById(99L)).thenReturn(false);
+
+            // Act & Assert
+            assertThrows(ProductNotFoundException.class,
+                () -> productService.reserveStock(99L, 1));
+        }
+
+        @Test
+        @DisplayName("Should add released stock back with an increment update")
+        void updateStock_WithPositiveQuantity_ShouldIncrementStock() {
+            // Arrange
+            when(productRepository.incrementStock(1L, 3)).thenReturn(1);
+            when(productRepository.findStockQuantityById(1L)).thenReturn(Optional.of(13));
+
+            // Act
+            boolean result = productService.updateStock(1L, 3);
+
+            // Assert
+            assertTrue(result);
+            verify(productRepository, never()).decrementStockIfAvailable(anyLong(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Reservation Tests")
+    class BatchReservationTests {
+
+        @Test
+        @DisplayName("Should reserve every line with one read and one batched save")
+        void reserveStockBatch_WithSufficientQuantity_ShouldReserveAll() {
+            // Arrange
+            Product secondProduct = new Product();
+            secondProduct.setId(2L);
+            secondProduct.setStockQuantity(4);
+            when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, secondProduct));
+
+            // Act
+            productService.reserveStockBatch(Map.of(1L, 3, 2L, 4));
+
+            // Assert
+            assertEquals(7, testProduct.getStockQuantity());
+            assertEquals(0, secondProduct.getStockQuantity());
+            verify(productRepository).saveAll(any());
+            verify(eventPublisher, times(2)).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should reserve nothing when any line is short")
+        void reserveStockBatch_WithOneInsufficientLine_ShouldReserveNothing() {
+            // Arrange
+            Product secondProduct = new Product();
+            secondProduct.setId(2L);
+            secondProduct.setStockQuantity(1);
+            when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, secondProduct));
+
+            // Act & Assert
+            assertThrows(InsufficientStockException.class,
+                () -> productService.reserveStockBatch(Map.of(1L, 3, 2L, 4)));
+
+            assertEquals(10, testProduct.getStockQuantity());
+            verify(productRepository, never()).saveAll(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should fail the whole atomic batch when one update matches no row")
+        void reserveStockBatch_InAtomicModeWithShortLine_ShouldThrowException() {
+            // Arrange
+            ReflectionTestUtils.setField(productService, "reservationMode", StockReservationMode.ATOMIC);
+            when(productRepository.decrementStockBatch(any())).thenReturn(new int[]{1, 0});
+            when(productRepository.existsById(2L)).thenReturn(true);
+
+            // Act & Assert
+            assertThrows(InsufficientStockException.class,
+                () -> productService.reserveStockBatch(Map.of(2L, 4, 1L, 3)));
+
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Full-Text Search Tests")
+    class FullTextSearchTests {
+
+        @BeforeEach
+        void enableFullTextMode() {
+            ReflectionTestUtils.setField(productService, "searchMode", ProductSearchMode.FULL_TEXT);
+        }
+
+        @Test
+        @DisplayName("Should search the full-text index in relevance order")
+        void searchProducts_WithQuery_ShouldUseRankedFullTextQuery() {
+            // Arrange
+            Pageable pageable = PageRequest.of(1, 20, Sort.by("name"));
+            Page<Product> ranked = new PageImpl<>(List.of(testProduct));
+            when(productRepository.searchFullText("espresso machine", PageRequest.of(1, 20))).thenReturn(ranked);
+
+            // Act
+            Page<Product> result = productService.searchProducts("espresso machine", pageable);
+
+            // Assert
+            assertSame(ranked, result);
+            verify(productRepository, never()).findByNameContainingOrDescriptionContainingAllIgnoreCase(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should list all products when the query is blank")
+        void searchProducts_WithBlankQuery_ShouldUseSubstringQuery() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 20);
+            when(productRepository.findByNameContainingOrDescriptionContainingAllIgnoreCase("", "", pageable))
+                .thenReturn(Page.empty());
+
+            // Act
+            productService.searchProducts("", pageable);
+
+            // Assert
+            verify(productRepository, never()).searchFullText(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset Search Tests")
+    class KeysetSearchTests {
+
+        @Test
+        @DisplayName("Should match LIKE pattern characters in the query literally")
+        void searchProducts_WithPatternCharacters_ShouldEscapeThem() {
+            // Act
+            productService.searchProducts("50%_off\\", null, 10);
+
+            // Assert
+            verify(productRepository).searchKeysetPage(eq("50\\%\\_off\\\\"), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tag Filter Tests")
+    class TagFilterTests {
+
+        @Test
+        @DisplayName("Should load only the requested page of tag matches, newest first")
+        void getProductsByTags_ShouldHydrateOnlyTheRequestedPage() {
+            // Arrange
+            List<String> tags = List.of("coffee", "espresso");
+            when(productTagIndex.match(tags, TagMatch.ALL)).thenReturn(RoaringBitmap.bitmapOf(1, 2, 3, 4, 5));
+            when(productRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(product(2L), product(3L)));
+
+            // Act
+            Page<Product> result = productService.getProductsByTags(tags, PageRequest.of(1, 2));
+
+            // Assert
+            assertEquals(List.of(3L, 2L), result.map(Product::getId).getContent());
+            assertEquals(5, result.getTotalElements());
+        }
+
+        private Product product(Long id) {
+            Product product = new Product();
+            product.setId(id);
+            return product;
+        }
+    }
+
+    @Nested
+    @DisplayName("Catalog Filter Tests")
+    class CatalogFilterTests {
+
+        @Test
+        @DisplayName("Should reject price histogram bounds that are not ascending")
+        void getPriceHistogram_WithUnorderedBounds_ShouldThrowException() {
+            // Arrange
+            List<BigDecimal> bounds = List.of(new BigDecimal("10"), new BigDecimal("10.00"));
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> productService.getPriceHistogram(bounds));
+            assertThrows(IllegalArgumentException.class, () -> productService.getPriceHistogram(List.of()));
+            verifyNoInteractions(productRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rating Tests")
+    class RatingTests {
+
+        @Test
+        @DisplayName("Should keep running average without scanning reviews")
+        void recordRating_ShouldUpdateAggregatesIncrementally() {
+            // Act
+            testProduct.recordRating(5);
+            testProduct.recordRating(2);
+
+            // Assert
+            assertEquals(2, testProduct.getTotalReviews());
+            assertEquals(7L, testProduct.getRatingSum());
+            assertEquals(3.5, testProduct.getAverageRating());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when recomputing rating of unknown product")
+        void updateProductRating_WithUnknownProduct_ShouldThrowException() {
+            // Arrange
+            when(productRepository.recomputeRatingAggregates(99L)).thenReturn(0);
+
+            // Act & Assert
+            assertThrows(ProductNotFoundException.class,
+                () -> productService.updateProductRating(99L));
+        }
     }
 
     @Nested
@@ -127,7 +420,8 @@ class ProductServiceTest {
             // Assert
             assertNotNull(result);
             assertEquals(testProduct.getName(), result.getName());
-            verify(eventPublisher).publishEvent(any());
+            verify(eventPublisher).publishEvent(any(ProductStockEvent.class));
+            verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
         }
     }
 }
@@ -1,8 +1,10 @@
 package com.example.ecommerce.test;
 
+import com.example.ecommerce.config.QueryCountConfig;
 import com.example.ecommerce.config.TestContainersConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,11 +13,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@Import(TestContainersConfig.class)
+@Import({TestContainersConfig.class, QueryCountConfig.class})
 @Transactional
 public abstract class BaseIntegrationTest {
 
@@ -33,5 +37,16 @@ public abstract class BaseIntegrationTest {
         }
     }
 
+    /**
+     * Runs the action and fails if it executed more SQL statements than the budget allows.
+     */
+    protected void assertStatementBudget(int maxStatements, Executable action) throws Throwable {
+        QueryCountInspector.reset();
+        action.execute();
+        int executed = QueryCountInspector.count();
+        assertTrue(executed <= maxStatements,
+            () -> "Expected at most " + maxStatements + " SQL statements but " + executed + " were executed");
+    }
+
     // Add more helper methods for testing
 }
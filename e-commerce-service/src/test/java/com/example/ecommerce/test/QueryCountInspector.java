@@ -0,0 +1,34 @@
+package com.example.ecommerce.test;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements Hibernate prepares on the current thread. MockMvc requests run
+ * on the test thread, so a test can measure exactly the statements its request caused.
+ */
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<int[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENT_COUNT.get()[0]++;
+        LAST_STATEMENT.set(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENT_COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    /**
+     * The SQL of the statement Hibernate prepared last on this thread, with its placeholders.
+     */
+    public static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+}